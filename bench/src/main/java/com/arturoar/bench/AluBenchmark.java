@@ -0,0 +1,158 @@
+package com.arturoar.bench;
+
+import com.arturoar.exceptions.CodeSegmentViolatedException;
+import com.arturoar.exceptions.WarningException;
+import com.arturoar.model.ALUnit;
+import com.arturoar.model.Computer;
+import com.arturoar.model.Register;
+import com.arturoar.model.RegisterFile;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of each operation of the ALU on its own.
+ * 
+ * Every operation starts from PC 0, so the jumps always land inside the code segment and the
+ * program counter never saturates. The sources are Ax and Bx and the destination is Cx, so the
+ * operands do not change from one call to the next; LOAD and STORE use the first data address held in Dx.
+ * 
+ * @author arturoar
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AluBenchmark {
+
+    private ALUnit alu;
+    private RegisterFile regs;
+    private Register ax;
+    private Register bx;
+    private Register cx;
+    private Register dx;
+
+    @Setup
+    public void setUp() throws IOException, WarningException {
+        Computer comp = new Computer();
+        comp.loadProgramIntoMemory(Programs.file(Programs.MULTIPLY));
+        this.alu = comp.getAlu();
+        this.regs = comp.getRegisterFile();
+        Register[] registers = comp.getRegistersPG();
+        this.ax = registers[0];
+        this.bx = registers[1];
+        this.cx = registers[2];
+        this.dx = registers[3];
+        this.ax.setValue(1234);
+        this.bx.setValue(567);
+        this.dx.setValue(this.regs.get(RegisterFile.DS));
+    }
+
+    @Benchmark
+    public void add() {
+        this.regs.set(RegisterFile.PC, 0);
+        this.alu.add(this.cx, this.ax, this.bx);
+    }
+
+    @Benchmark
+    public void sub() {
+        this.regs.set(RegisterFile.PC, 0);
+        this.alu.sub(this.cx, this.ax, this.bx);
+    }
+
+    @Benchmark
+    public void and() {
+        this.regs.set(RegisterFile.PC, 0);
+        this.alu.and(this.cx, this.ax, this.bx);
+    }
+
+    @Benchmark
+    public void or() {
+        this.regs.set(RegisterFile.PC, 0);
+        this.alu.or(this.cx, this.ax, this.bx);
+    }
+
+    @Benchmark
+    public void xor() {
+        this.regs.set(RegisterFile.PC, 0);
+        this.alu.xor(this.cx, this.ax, this.bx);
+    }
+
+    @Benchmark
+    public void not() {
+        this.regs.set(RegisterFile.PC, 0);
+        this.alu.not(this.cx, this.ax);
+    }
+
+    @Benchmark
+    public void cmp() {
+        this.regs.set(RegisterFile.PC, 0);
+        this.alu.cmp(this.ax, this.bx);
+    }
+
+    @Benchmark
+    public void shiftLeft() {
+        this.regs.set(RegisterFile.PC, 0);
+        this.alu.shiftLeft(this.cx, this.ax);
+    }
+
+    @Benchmark
+    public void shiftRight() {
+        this.regs.set(RegisterFile.PC, 0);
+        this.alu.shiftRight(this.cx, this.ax);
+    }
+
+    @Benchmark
+    public void load() throws CodeSegmentViolatedException {
+        this.regs.set(RegisterFile.PC, 0);
+        this.alu.load(this.cx, this.dx);
+    }
+
+    @Benchmark
+    public void store() throws CodeSegmentViolatedException {
+        this.regs.set(RegisterFile.PC, 0);
+        this.alu.store(this.dx, this.ax);
+    }
+
+    @Benchmark
+    public void load12Bit() {
+        this.regs.set(RegisterFile.PC, 0);
+        this.alu.load12Bit(this.cx, 1234);
+    }
+
+    @Benchmark
+    public void jump() throws CodeSegmentViolatedException {
+        this.regs.set(RegisterFile.PC, 0);
+        this.alu.jump(1);
+    }
+
+    @Benchmark
+    public void jz() throws CodeSegmentViolatedException {
+        this.regs.set(RegisterFile.PC, 0);
+        this.alu.jz(1);
+    }
+
+    @Benchmark
+    public void jnz() throws CodeSegmentViolatedException {
+        this.regs.set(RegisterFile.PC, 0);
+        this.alu.jnz(1);
+    }
+
+    @Benchmark
+    public void nop() {
+        this.regs.set(RegisterFile.PC, 0);
+        this.alu.nop();
+    }
+
+}
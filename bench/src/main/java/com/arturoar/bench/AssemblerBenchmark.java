@@ -0,0 +1,89 @@
+package com.arturoar.bench;
+
+import com.arturoar.exceptions.WarningException;
+import com.arturoar.tools.Assembler;
+import com.arturoar.tools.ProgramCache;
+import com.arturoar.tools.ProgramImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Throughput of the assembler: a whole file, including reading it, and the encoding of its instructions
+ * alone, with the integer encoder that builds program images, and a load served by the program cache
+ * instead. The string encoder, which knows neither labels nor the data section, is measured by
+ * {@link StringEncoderBenchmark}.
+ * 
+ * @author arturoar
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AssemblerBenchmark {
+
+    @Param({Programs.EXPRESSION, Programs.MULTIPLY, Programs.INSTRUCTIONS, Programs.SUM})
+    public String program;
+
+    private File file;
+    private List<String> instructions;
+    private Assembler assembler;
+    private ProgramCache cache;
+
+    @Setup
+    public void setUp() throws IOException, WarningException {
+        this.file = Programs.file(this.program);
+        this.assembler = new Assembler(this.file);
+        // defines the labels used by encodeInstruction
+        List<String> lines = this.assembler.assembleImage().getSourceLines();
+        this.instructions = new ArrayList<>(lines.size());
+        for (String line : lines){
+            this.instructions.add(line.substring(line.lastIndexOf(':') + 1).trim());
+        }
+        this.cache = new ProgramCache(ProgramCache.DEFAULT_CAPACITY, null);
+    }
+
+    /**
+     * Reads and assembles the whole file into a program image.
+     */
+    @Benchmark
+    public ProgramImage assembleImage() throws IOException, WarningException {
+        return new Assembler(this.file).assembleImage();
+    }
+
+    /**
+     * Reads and hashes the file, then finds its image in the memory tier of the program cache.
+     */
+    @Benchmark
+    public ProgramImage cachedLoad() throws IOException, WarningException {
+        return this.cache.load(this.file);
+    }
+
+    /**
+     * Encodes every instruction of the file, already in memory and without its labels, into its
+     * instruction word.
+     */
+    @Benchmark
+    public void encodeInstruction(Blackhole bh) throws WarningException {
+        for (String line : this.instructions){
+            bh.consume(this.assembler.encodeInstruction(line));
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.arturoar.bench;
+
+import com.arturoar.exceptions.WarningException;
+import com.arturoar.model.Computer;
+import com.arturoar.model.ControlUnit;
+import com.arturoar.model.RegisterFile;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the decode and operand search stages of the control unit over every word of a program.
+ * 
+ * @author arturoar
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ControlUnitBenchmark {
+
+    @Param({Programs.EXPRESSION, Programs.MULTIPLY, Programs.INSTRUCTIONS, Programs.SUM})
+    public String program;
+
+    private ControlUnit cu;
+    private RegisterFile regs;
+    private int[] code;
+
+    @Setup
+    public void setUp() throws IOException, WarningException {
+        Computer comp = new Computer();
+        comp.loadProgramIntoMemory(Programs.file(this.program));
+        this.cu = comp.getCu();
+        this.regs = comp.getRegisterFile();
+        this.code = new int[this.regs.get(RegisterFile.DS)];
+        for (int i = 0; i < this.code.length; i++){
+            this.code[i] = comp.getMem().read(i);
+        }
+    }
+
+    /**
+     * Decodes every instruction of the program, one operation per program.
+     */
+    @Benchmark
+    public void decode() {
+        for (int pc = 0; pc < this.code.length; pc++){
+            this.regs.set(RegisterFile.PC, pc);
+            this.regs.set(RegisterFile.IR, this.code[pc]);
+            this.cu.decode();
+            this.cu.operandSearch();
+        }
+    }
+
+}
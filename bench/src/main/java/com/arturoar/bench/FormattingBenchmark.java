@@ -0,0 +1,90 @@
+package com.arturoar.bench;
+
+import com.arturoar.model.Register;
+import com.arturoar.tools.BitOps;
+import com.arturoar.tools.Disassembler;
+import com.arturoar.tools.GFG;
+import com.arturoar.tools.WordFormat;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the text conversions the interface runs for every register and memory cell it shows.
+ * 
+ * @author arturoar
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormattingBenchmark {
+
+    @Param({"0", "1234", "65535"})
+    public int value;
+
+    private Register register;
+    private String binary;
+    private final StringBuilder buffer = new StringBuilder();
+
+    @Setup
+    public void setUp() {
+        this.register = new Register(16);
+        this.register.setValueAsInstr(this.value);
+        this.binary = GFG.getBinaryNumber(this.value, 16);
+    }
+
+    @Benchmark
+    public String binaryValue() {
+        return this.register.getBinaryValue();
+    }
+
+    @Benchmark
+    public String hexValue() {
+        return this.register.getHexValue();
+    }
+
+    @Benchmark
+    public String twosComplement() {
+        return GFG.getTwosComplement(this.binary);
+    }
+
+    /**
+     * Binary, hexadecimal and decimal text of the value looked up in the shared tables, as the memory table does.
+     */
+    @Benchmark
+    public int wordFormatLookup() {
+        return WordFormat.binary(this.value, 16).length() + WordFormat.hex(this.value).length()
+                + WordFormat.decimal(this.value).length();
+    }
+
+    /**
+     * Disassembly of the value looked up in the shared table, as the instruction column of the memory table does.
+     */
+    @Benchmark
+    public String disassemblerLookup() {
+        return Disassembler.disassemble(this.value);
+    }
+
+    /**
+     * Binary and hexadecimal digits of the value written into a reused builder, without creating strings.
+     */
+    @Benchmark
+    public StringBuilder bitOpsFormatting() {
+        this.buffer.setLength(0);
+        BitOps.appendBinary(this.buffer, this.value, 16).append(' ');
+        return BitOps.appendHex(this.buffer, this.value, 4);
+    }
+
+}
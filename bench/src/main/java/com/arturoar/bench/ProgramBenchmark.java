@@ -0,0 +1,71 @@
+package com.arturoar.bench;
+
+import com.arturoar.exceptions.CodeSegmentViolatedException;
+import com.arturoar.exceptions.WarningException;
+import com.arturoar.model.Computer;
+import com.arturoar.model.ExecutionMode;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of whole programs from {@code ProgramExamples}, with every execution mode.
+ * 
+ * Each operation restores the memory and registers the program was loaded with and runs it until
+ * it halts, faults or exhausts the budget. The computer is reused, so the predecoded and compiled
+ * code is built during warmup and the measurement covers execution only.
+ * 
+ * @author arturoar
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProgramBenchmark {
+
+    private static final long BUDGET = 1_000_000;
+
+    @Param({Programs.EXPRESSION, Programs.MULTIPLY, Programs.INSTRUCTIONS, Programs.SUM})
+    public String program;
+
+    @Param({"INTERPRETER", "THREADED", "JIT"})
+    public ExecutionMode mode;
+
+    private Computer comp;
+
+    @Setup
+    public void setUp() throws IOException, WarningException {
+        this.comp = new Computer();
+        this.comp.loadProgramIntoMemory(Programs.file(this.program));
+        this.comp.setExecutionMode(this.mode);
+        this.comp.checkpoint();
+    }
+
+    /**
+     * Runs the program from its initial state.
+     * 
+     * @return the number of instructions executed, or the instruction count of the computer if the program faulted
+     */
+    @Benchmark
+    public long run() {
+        this.comp.restoreCheckpoint();
+        try {
+            return this.comp.run(BUDGET);
+        } catch (CodeSegmentViolatedException ex) {
+            return this.comp.getInstructionCount();
+        }
+    }
+
+}
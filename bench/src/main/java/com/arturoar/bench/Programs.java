@@ -0,0 +1,46 @@
+package com.arturoar.bench;
+
+import java.io.File;
+
+/**
+ * Locates the sample programs shared by the benchmarks.
+ * 
+ * The directory is taken from the {@code risc.examples} system property, and defaults to
+ * {@code ProgramExamples} in the working directory or its parent, so the benchmarks can be started
+ * from the repository root or from the bench module.
+ * 
+ * @author arturoar
+ */
+final class Programs {
+
+    /**
+     * The programs in {@code ProgramExamples}, used as the {@code @Param} values of the benchmarks.
+     */
+    static final String EXPRESSION = "expresionMatemetica.txt";
+    static final String MULTIPLY = "multiplicaDosNumeros.txt";
+    static final String INSTRUCTIONS = "pruebaInstrucciones.txt";
+    static final String SUM = "sumaArreglo.txt";
+
+    private Programs() {
+    }
+
+    /**
+     * Resolves a sample program.
+     * 
+     * @param name the file name
+     * @return the file
+     * @throws IllegalStateException if the programs directory cannot be found
+     */
+    static File file(String name) {
+        String configured = System.getProperty("risc.examples");
+        File dir = configured != null ? new File(configured) : new File("ProgramExamples");
+        if (!dir.isDirectory() && configured == null){
+            dir = new File("../ProgramExamples");
+        }
+        if (!dir.isDirectory()){
+            throw new IllegalStateException("ProgramExamples not found; set -Drisc.examples=<dir>");
+        }
+        return new File(dir, name);
+    }
+
+}
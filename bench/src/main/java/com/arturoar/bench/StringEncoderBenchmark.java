@@ -0,0 +1,75 @@
+package com.arturoar.bench;
+
+import com.arturoar.exceptions.WarningException;
+import com.arturoar.tools.Assembler;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Throughput of the string encoder of the assembler: a whole file, including reading it, and the
+ * translation of its lines alone.
+ * 
+ * The string encoder knows neither labels nor the data section, so {@link Programs#SUM} is left out;
+ * the encoder that builds program images is measured over every program by {@link AssemblerBenchmark}.
+ * 
+ * @author arturoar
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StringEncoderBenchmark {
+
+    @Param({Programs.EXPRESSION, Programs.MULTIPLY, Programs.INSTRUCTIONS})
+    public String program;
+
+    private File file;
+    private List<String> lines;
+    private Assembler assembler;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.file = Programs.file(this.program);
+        this.lines = Files.readAllLines(this.file.toPath());
+        this.assembler = new Assembler(this.file);
+    }
+
+    /**
+     * Reads and assembles the whole file.
+     */
+    @Benchmark
+    public ArrayList<String> assemble() throws IOException, WarningException {
+        ArrayList<String> binaryCode = new ArrayList<>();
+        new Assembler(this.file).assemble(binaryCode);
+        return binaryCode;
+    }
+
+    /**
+     * Translates every line of the file, already in memory.
+     */
+    @Benchmark
+    public void decodeInstruction(Blackhole bh) throws WarningException {
+        for (String line : this.lines){
+            bh.consume(this.assembler.decodeInstruction(line));
+        }
+    }
+
+}
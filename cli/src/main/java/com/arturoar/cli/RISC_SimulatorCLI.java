@@ -0,0 +1,372 @@
+package com.arturoar.cli;
+
+import com.arturoar.batch.BatchJob;
+import com.arturoar.batch.BatchResult;
+import com.arturoar.batch.BatchRunner;
+import com.arturoar.exceptions.WarningException;
+import com.arturoar.model.Computer;
+import com.arturoar.model.ExecutionMode;
+import com.arturoar.model.Memory;
+import com.arturoar.model.PagedMemory;
+import com.arturoar.model.Register;
+import com.arturoar.tools.Assembler;
+import com.arturoar.tools.BitOps;
+import com.arturoar.tools.Disassembler;
+import com.arturoar.tools.ImageFile;
+import com.arturoar.tools.ProgramCache;
+import com.arturoar.tools.ProgramImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Headless command-line entry point for the RISC Architecture Simulator.
+ * 
+ * Assembles one or more program files (or loads binary program images), runs each one until the
+ * program counter reaches the data segment or the instruction budget is exhausted, and prints the
+ * final registers, flags, the requested memory ranges and the number of instructions executed. No JavaFX class is
+ * loaded, so the runner starts quickly and works on machines without a display (scripts, CI).
+ * 
+ * Usage: {@code RISC_SimulatorCLI [options] program...}; a program named {@code -} is streamed from
+ * standard input, so generated code can be piped in without a temporary file.
+ * - {@code --budget N}: maximum number of instructions per program (default {@value #DEFAULT_BUDGET})
+ * - {@code --mode interpreter|threaded|jit}: execution engine (default interpreter)
+ * - {@code --width N}: address bus width in bits (default {@value Computer#DEFAULT_ADDRESS_BUS_WIDTH})
+ * - {@code --paged}: use a sparse paged memory
+ * - {@code --parallel N}: run up to N programs at the same time (default 1, in order)
+ * - {@code --mem START-END}: print memory words START..END (inclusive, decimal or 0x hex); repeatable.
+ *   START must be inside the memory; an END past it stops at the last word
+ * - {@code --trace}: print every executed instruction (address, word and its disassembly) before the
+ *   report; the programs then run one at a time with the interpreter
+ * - {@code --emit DIR}: assemble every program into a binary image ({@value ImageFile#EXTENSION}) in DIR
+ *   instead of running it; images are loaded directly when given as programs
+ * - {@code --cache DIR}: keep the assembled programs in DIR, so later runs of the same sources skip assembly
+ * 
+ * The instruction register is reported with its {@linkplain Disassembler disassembly}.
+ * 
+ * The exit status is 0 when every program halted, 1 when a program could not be assembled,
+ * faulted or ran out of budget, and 2 on a usage error.
+ * 
+ * @author arturoar
+ */
+public class RISC_SimulatorCLI {
+
+    /**
+     * Default instruction budget per program.
+     */
+    public static final long DEFAULT_BUDGET = 1_000_000;
+
+    /**
+     * Program argument standing for standard input, and the name its reports and images get.
+     */
+    private static final String STDIN = "-";
+    private static final String STDIN_NAME = "stdin";
+
+    private static final String[] REGISTER_NAMES = {"Ax", "Bx", "Cx", "Dx", "Ex", "Fx", "Gx", "Hx"};
+
+    private long budget = DEFAULT_BUDGET;
+    private ExecutionMode mode = ExecutionMode.INTERPRETER;
+    private int width = Computer.DEFAULT_ADDRESS_BUS_WIDTH;
+    private boolean paged;
+    private boolean trace;
+    private int parallelism = 1;
+    private File emitDirectory;
+    private final List<int[]> ranges = new ArrayList<>();
+    private final List<File> programs = new ArrayList<>();
+    private final PrintStream out;
+
+    /**
+     * Initializes a runner printing its report to the given stream.
+     * 
+     * @param out the stream receiving the report
+     */
+    public RISC_SimulatorCLI(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Entry point of the command-line runner.
+     * 
+     * @param args the options and program files
+     */
+    public static void main(String[] args) {
+        RISC_SimulatorCLI cli = new RISC_SimulatorCLI(System.out);
+        try {
+            if (cli.parse(args)){
+                usage(System.out);
+                return;
+            }
+        } catch (IllegalArgumentException ex) {
+            System.err.println("error: " + ex.getMessage());
+            usage(System.err);
+            System.exit(2);
+        }
+        int status = cli.runAll();
+        // System.exit initializes the platform logger; skip it on success to keep startup short
+        if (status != 0){
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Parses the command-line arguments. Parsing stops at {@code --help} or {@code -h}; the caller then
+     * prints the usage instead of running anything.
+     * 
+     * @param args the options and program files
+     * @return true if the usage was requested
+     * @throws IllegalArgumentException if an option is unknown or malformed, a memory range starts past
+     *         the end of the memory, or no program is given
+     */
+    public boolean parse(String[] args) {
+        for (int i = 0; i < args.length; i++){
+            String arg = args[i];
+            switch (arg) {
+                case "--budget":
+                    this.budget = Long.parseLong(value(args, ++i, arg));
+                    if (this.budget < 0){
+                        throw new IllegalArgumentException("--budget must not be negative");
+                    }
+                    break;
+                case "--mode":
+                    this.mode = ExecutionMode.valueOf(value(args, ++i, arg).toUpperCase());
+                    break;
+                case "--width":
+                    this.width = Integer.parseInt(value(args, ++i, arg));
+                    if (this.width < 1 || this.width > Memory.MAX_ADDRESS_BUS_WIDTH){
+                        throw new IllegalArgumentException("--width must be between 1 and " + Memory.MAX_ADDRESS_BUS_WIDTH);
+                    }
+                    break;
+                case "--parallel":
+                    this.parallelism = Integer.parseInt(value(args, ++i, arg));
+                    if (this.parallelism < 1){
+                        throw new IllegalArgumentException("--parallel must be positive");
+                    }
+                    break;
+                case "--paged":
+                    this.paged = true;
+                    break;
+                case "--trace":
+                    this.trace = true;
+                    break;
+                case "--emit":
+                    this.emitDirectory = new File(value(args, ++i, arg));
+                    break;
+                case "--cache":
+                    ProgramCache.setShared(new ProgramCache(ProgramCache.DEFAULT_CAPACITY, new File(value(args, ++i, arg))));
+                    break;
+                case "--mem":
+                    this.ranges.add(parseRange(value(args, ++i, arg)));
+                    break;
+                case "--help":
+                case "-h":
+                    return true;
+                default:
+                    if (arg.startsWith("--")){
+                        throw new IllegalArgumentException("unknown option " + arg);
+                    }
+                    this.programs.add(new File(arg));
+            }
+        }
+        int memorySize = 1 << this.width;
+        for (int[] range : this.ranges){
+            if (range[0] >= memorySize){
+                throw new IllegalArgumentException("memory range " + range[0] + "-" + range[1]
+                        + " outside memory of " + memorySize + " words");
+            }
+        }
+        if (this.programs.isEmpty()){
+            throw new IllegalArgumentException("no program given");
+        }
+        return false;
+    }
+
+    /**
+     * Assembles and runs every program given on the command line, printing a report for each
+     * as soon as it finishes. With {@code --parallel} above 1 the reports come in completion order,
+     * unless {@code --trace} is given, which runs the programs in order.
+     * 
+     * @return the exit status: 0 if every program halted, 1 otherwise
+     */
+    public int runAll() {
+        if (this.emitDirectory != null){
+            return emitAll();
+        }
+        List<BatchJob> jobs = new ArrayList<>(this.programs.size());
+        Supplier<Computer> computers = new Supplier<Computer>() {
+            @Override
+            public Computer get() {
+                return newComputer();
+            }
+        };
+        for (File program : this.programs){
+            if (STDIN.equals(program.getPath())){
+                jobs.add(BatchJob.ofReader(STDIN_NAME, new InputStreamReader(System.in, Charset.defaultCharset()), computers));
+            }
+            else {
+                jobs.add(BatchJob.ofFile(program, computers));
+            }
+        }
+        BatchRunner runner = new BatchRunner(this.trace ? 1 : this.parallelism);
+        runner.setBudget(this.budget);
+        if (this.trace){
+            runner.setTrace(this.out);
+        }
+        boolean[] allHalted = {true};
+        try {
+            runner.run(jobs, new Consumer<BatchResult>() {
+                @Override
+                public void accept(BatchResult result) {
+                    if (!report(result)){
+                        allHalted[0] = false;
+                    }
+                }
+            });
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return 1;
+        }
+        return allHalted[0] ? 0 : 1;
+    }
+
+    /**
+     * Assembles every program given on the command line into a binary image in the emit directory.
+     * 
+     * @return the exit status: 0 if every program was written, 1 otherwise
+     */
+    private int emitAll() {
+        int status = 0;
+        for (File program : this.programs){
+            boolean stdin = STDIN.equals(program.getPath());
+            String name = stdin ? STDIN_NAME : program.getName();
+            int dot = name.lastIndexOf('.');
+            File image = new File(this.emitDirectory, (dot > 0 ? name.substring(0, dot) : name) + ImageFile.EXTENSION);
+            try {
+                Assembler assembler = stdin ? new Assembler(System.in) : new Assembler(program);
+                ProgramImage written = assembler.writeImage(image);
+                this.out.println(program + " -> " + image + " (" + written.getCodeLength() + " instructions, "
+                        + written.getDataLength() + " data words)");
+            } catch (IOException | WarningException ex) {
+                this.out.println(program + ": assembly failed: " + ex.getMessage());
+                status = 1;
+            }
+        }
+        return status;
+    }
+
+    /**
+     * Creates an empty computer with the memory and execution mode selected on the command line.
+     * 
+     * @return the computer
+     */
+    private Computer newComputer() {
+        Computer comp = new Computer(this.paged ? new PagedMemory(this.width) : new Memory(this.width));
+        comp.setExecutionMode(this.mode);
+        return comp;
+    }
+
+    /**
+     * Prints the report of one program.
+     * 
+     * @param result the result of the program's job
+     * @return true if the program halted (the program counter reached the data segment)
+     */
+    private boolean report(BatchResult result) {
+        this.out.println("== " + result.getJob().getName() + " ==");
+        Computer comp = result.getComputer();
+        switch (result.getStatus()) {
+            case LOAD_FAILED:
+                this.out.println("status: assembly failed: " + result.getError().getMessage());
+                return false;
+            case FAULT:
+                this.out.println("status: fault at " + comp.getPC().getValue() + ": " + result.getError().getMessage());
+                break;
+            case BUDGET_EXHAUSTED:
+                this.out.println("status: budget exhausted");
+                break;
+            default:
+                this.out.println("status: halted");
+        }
+        this.out.println("instructions: " + result.getInstructionCount());
+        printRegisters(comp);
+        for (int[] range : this.ranges){
+            printMemory(comp, range[0], range[1]);
+        }
+        return result.getStatus() == BatchResult.Status.HALTED;
+    }
+
+    private void printRegisters(Computer comp) {
+        Register[] registers = comp.getRegistersPG();
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < registers.length; i++){
+            line.append(REGISTER_NAMES[i]).append('=').append(registers[i].getDecValue())
+                    .append(" (0x").append(registers[i].getHexValue()).append(")");
+            line.append(i % 4 == 3 ? '\n' : ' ');
+        }
+        this.out.print(line);
+        this.out.println("PC=" + comp.getPC().getValue() + " IR=0x" + comp.getIR().getHexValue()
+                + " (" + Disassembler.disassemble(comp.getIR().getValue()) + ") DS=" + comp.getDS().getValue());
+        Register[] flags = comp.getFlags();
+        this.out.println("flags: S=" + flags[3].getValue() + " Z=" + flags[2].getValue()
+                + " O=" + flags[1].getValue() + " C=" + flags[0].getValue());
+    }
+
+    private void printMemory(Computer comp, int start, int end) {
+        Memory mem = comp.getMem();
+        end = Math.min(end, mem.getMemorySize() - 1);
+        this.out.println("memory " + start + "-" + end + ":");
+        StringBuilder line = new StringBuilder();
+        for (int address = start; address <= end; address++){
+            if ((address - start) % 8 == 0){
+                if (line.length() > 0){
+                    this.out.println(line);
+                    line.setLength(0);
+                }
+                BitOps.appendHex(line.append("  "), address, 4).append(':');
+            }
+            BitOps.appendHex(line.append(' '), mem.read(address), 4);
+        }
+        if (line.length() > 0){
+            this.out.println(line);
+        }
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length){
+            throw new IllegalArgumentException(option + " needs a value");
+        }
+        return args[index];
+    }
+
+    private static int[] parseRange(String text) {
+        int dash = text.indexOf('-');
+        try {
+            int start = parseAddress(dash < 0 ? text : text.substring(0, dash));
+            int end = dash < 0 ? start : parseAddress(text.substring(dash + 1));
+            if (start < 0 || end < start){
+                throw new IllegalArgumentException("invalid memory range " + text);
+            }
+            return new int[]{start, end};
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("invalid memory range " + text);
+        }
+    }
+
+    private static int parseAddress(String text) {
+        if (text.startsWith("0x") || text.startsWith("0X")){
+            return Integer.parseInt(text.substring(2), 16);
+        }
+        return Integer.parseInt(text);
+    }
+
+    private static void usage(PrintStream stream) {
+        stream.println("usage: RISC_SimulatorCLI [--budget N] [--mode interpreter|threaded|jit]"
+                + " [--width N] [--paged] [--parallel N] [--mem START-END]... [--trace] [--emit DIR] [--cache DIR] program... (- reads standard input)");
+    }
+
+}
@@ -0,0 +1,5 @@
+module com.arturoar.simuladorarquitecturarisc.cli {
+    requires com.arturoar.simuladorarquitecturarisc.core;
+
+    exports com.arturoar.cli;
+}
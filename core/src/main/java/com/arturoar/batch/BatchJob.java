@@ -0,0 +1,165 @@
+package com.arturoar.batch;
+
+import com.arturoar.exceptions.WarningException;
+import com.arturoar.model.Computer;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Supplier;
+
+/**
+ * A program to run as part of a batch.
+ * 
+ * A job either assembles a program file into a fresh computer when it starts, or copies a
+ * computer that already holds an assembled program, so the same program can be assembled once
+ * and run many times. Every job runs on its own {@link Computer}, so jobs are independent
+ * and can run in parallel.
+ * 
+ * @author arturoar
+ */
+public final class BatchJob {
+
+    /**
+     * Prepares the computer of a job, typically by assembling a program into it.
+     */
+    @FunctionalInterface
+    public interface Loader {
+
+        /**
+         * Creates a computer with the job's program loaded.
+         * 
+         * @return the computer to run
+         * @throws IOException if the program cannot be read
+         * @throws WarningException if the program cannot be assembled
+         */
+        Computer load() throws IOException, WarningException;
+    }
+
+    private final String name;
+    private final Loader loader;
+
+    /**
+     * Initializes a job.
+     * 
+     * @param name the name reported with the job's result
+     * @param loader the loader preparing the job's computer
+     */
+    public BatchJob(String name, Loader loader) {
+        this.name = name;
+        this.loader = loader;
+    }
+
+    /**
+     * Creates a job that assembles a program file, or loads a program image file, into a new computer.
+     * 
+     * @param file the assembly or image file
+     * @param computers the factory creating the computer, e.g. {@code Computer::new}
+     * @return the job, named after the file path
+     */
+    public static BatchJob ofFile(File file, Supplier<Computer> computers) {
+        return new BatchJob(file.getPath(), new FileLoader(file, computers));
+    }
+
+    /**
+     * Creates a job that streams a program from a reader into a new computer, e.g. from standard input
+     * or a program generator. The source lines are not kept, so long sources use little memory.
+     * The job can run only once, since the reader is consumed.
+     * 
+     * @param name the name reported with the job's result
+     * @param source the assembly source; it is read to the end but not closed
+     * @param computers the factory creating the computer, e.g. {@code Computer::new}
+     * @return the job
+     */
+    public static BatchJob ofReader(String name, Reader source, Supplier<Computer> computers) {
+        return new BatchJob(name, new ReaderLoader(source, computers));
+    }
+
+    /**
+     * Creates a job that runs a copy of a computer holding an assembled program.
+     * The template itself is never modified, so it can be shared by many jobs.
+     * 
+     * @param name the name reported with the job's result
+     * @param template the computer to copy
+     * @return the job
+     */
+    public static BatchJob ofComputer(String name, Computer template) {
+        return new BatchJob(name, new CopyLoader(template));
+    }
+
+    /**
+     * Retrieves the name reported with the job's result.
+     * 
+     * @return the job name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the loader preparing the job's computer.
+     * 
+     * @return the loader
+     */
+    public Loader getLoader() {
+        return loader;
+    }
+
+    /**
+     * Loader assembling a program file into a new computer.
+     * Plain classes rather than lambdas keep the start-up of short command-line runs free of
+     * lambda bootstrapping.
+     */
+    private static final class FileLoader implements Loader {
+        private final File file;
+        private final Supplier<Computer> computers;
+
+        FileLoader(File file, Supplier<Computer> computers) {
+            this.file = file;
+            this.computers = computers;
+        }
+
+        @Override
+        public Computer load() throws IOException, WarningException {
+            Computer comp = computers.get();
+            comp.loadProgramIntoMemory(file);
+            return comp;
+        }
+    }
+
+    /**
+     * Loader streaming a program from a reader into a new computer.
+     */
+    private static final class ReaderLoader implements Loader {
+        private final Reader source;
+        private final Supplier<Computer> computers;
+
+        ReaderLoader(Reader source, Supplier<Computer> computers) {
+            this.source = source;
+            this.computers = computers;
+        }
+
+        @Override
+        public Computer load() throws IOException, WarningException {
+            Computer comp = computers.get();
+            comp.loadProgramStream(source, false);
+            return comp;
+        }
+    }
+
+    /**
+     * Loader copying a computer that already holds an assembled program.
+     */
+    private static final class CopyLoader implements Loader {
+        private final Computer template;
+
+        CopyLoader(Computer template) {
+            this.template = template;
+        }
+
+        @Override
+        public Computer load() {
+            return template.copy();
+        }
+    }
+
+}
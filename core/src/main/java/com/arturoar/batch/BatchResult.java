@@ -0,0 +1,110 @@
+package com.arturoar.batch;
+
+import com.arturoar.model.Computer;
+
+/**
+ * Outcome of one {@link BatchJob}.
+ * 
+ * Holds the computer in its final state (registers, flags and memory can be inspected through it),
+ * the number of instructions executed, how the run ended and, for failed jobs, the exception.
+ * 
+ * @author arturoar
+ */
+public final class BatchResult {
+
+    /**
+     * How a job ended.
+     */
+    public enum Status {
+        /** The program counter reached the data segment. */
+        HALTED,
+        /** The instruction budget ran out before the program halted. */
+        BUDGET_EXHAUSTED,
+        /** An instruction accessed memory outside its segment. */
+        FAULT,
+        /** The program could not be read or assembled. */
+        LOAD_FAILED
+    }
+
+    private final BatchJob job;
+    private final Status status;
+    private final Computer computer;
+    private final long instructionCount;
+    private final Exception error;
+    private final long elapsedNanos;
+
+    /**
+     * Initializes a result.
+     * 
+     * @param job the job that ran
+     * @param status how the job ended
+     * @param computer the computer in its final state, or null if the program could not be loaded
+     * @param instructionCount the number of instructions executed
+     * @param error the exception that ended the job, or null
+     * @param elapsedNanos the wall-clock time spent loading and running the job
+     */
+    public BatchResult(BatchJob job, Status status, Computer computer, long instructionCount,
+            Exception error, long elapsedNanos) {
+        this.job = job;
+        this.status = status;
+        this.computer = computer;
+        this.instructionCount = instructionCount;
+        this.error = error;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Retrieves the job that ran.
+     * 
+     * @return the job
+     */
+    public BatchJob getJob() {
+        return job;
+    }
+
+    /**
+     * Retrieves how the job ended.
+     * 
+     * @return the status
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Retrieves the computer in its final state.
+     * 
+     * @return the computer, or null if the program could not be loaded
+     */
+    public Computer getComputer() {
+        return computer;
+    }
+
+    /**
+     * Retrieves the number of instructions executed.
+     * 
+     * @return the instruction count
+     */
+    public long getInstructionCount() {
+        return instructionCount;
+    }
+
+    /**
+     * Retrieves the exception that ended the job.
+     * 
+     * @return the exception, or null if the job halted or ran out of budget
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    /**
+     * Retrieves the wall-clock time spent loading and running the job.
+     * 
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+}
@@ -0,0 +1,217 @@
+package com.arturoar.batch;
+
+import com.arturoar.exceptions.CodeSegmentViolatedException;
+import com.arturoar.model.Computer;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs many independent programs across the available cores.
+ * 
+ * Every {@link BatchJob} is loaded and run on its own {@link Computer} until the program counter
+ * reaches the data segment or the instruction budget runs out. Jobs are spread over a work-stealing
+ * {@link ForkJoinPool} with the configured parallelism, and each {@link BatchResult} is handed to
+ * the caller as soon as its job finishes, so long batches can be reported incrementally.
+ * With a parallelism of 1 the jobs run one after another on the calling thread, in order.
+ * 
+ * A runner given a trace stream prints every instruction each job executes (see
+ * {@link Computer#trace(long, PrintStream)}), preceded by the name of the job; the jobs then run with the
+ * interpreter, whatever the execution mode of their computers, and should run one at a time so their
+ * traces do not interleave.
+ * 
+ * @author arturoar
+ */
+public class BatchRunner {
+
+    /**
+     * Default instruction budget per job.
+     */
+    public static final long DEFAULT_BUDGET = 1_000_000;
+
+    private final int parallelism;
+    private long budget;
+    private PrintStream trace;
+
+    /**
+     * Initializes a runner using every available processor.
+     */
+    public BatchRunner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Initializes a runner with the given number of worker threads.
+     * 
+     * @param parallelism the maximum number of jobs running at the same time
+     * @throws IllegalArgumentException if the parallelism is not positive
+     */
+    public BatchRunner(int parallelism) {
+        if (parallelism < 1){
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.budget = DEFAULT_BUDGET;
+    }
+
+    /**
+     * Sets the maximum number of instructions each job may execute.
+     * 
+     * @param budget the instruction budget per job
+     */
+    public void setBudget(long budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Retrieves the maximum number of instructions each job may execute.
+     * 
+     * @return the instruction budget per job
+     */
+    public long getBudget() {
+        return budget;
+    }
+
+    /**
+     * Sets the stream receiving the trace of every executed instruction.
+     * 
+     * @param trace the trace stream, or null to run without a trace (the default)
+     */
+    public void setTrace(PrintStream trace) {
+        this.trace = trace;
+    }
+
+    /**
+     * Retrieves the stream receiving the trace of every executed instruction.
+     * 
+     * @return the trace stream, or null if jobs run without a trace
+     */
+    public PrintStream getTrace() {
+        return trace;
+    }
+
+    /**
+     * Retrieves the maximum number of jobs running at the same time.
+     * 
+     * @return the parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Runs every job and streams the results as the jobs finish.
+     * The consumer is never called concurrently, so it does not need to be thread-safe,
+     * but with a parallelism above 1 results arrive in completion order, not job order.
+     * 
+     * @param jobs the jobs to run
+     * @param results the consumer receiving each result
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the jobs;
+     *         jobs that have not started yet are cancelled
+     */
+    public void run(List<BatchJob> jobs, Consumer<BatchResult> results) throws InterruptedException {
+        if (this.parallelism == 1 || jobs.size() <= 1){
+            for (BatchJob job : jobs){
+                if (Thread.interrupted()){
+                    throw new InterruptedException();
+                }
+                results.accept(runJob(job));
+            }
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool(Math.min(this.parallelism, jobs.size()));
+        CountDownLatch done = new CountDownLatch(jobs.size());
+        Object lock = new Object();
+        RuntimeException[] failure = new RuntimeException[1];
+        try {
+            for (BatchJob job : jobs){
+                pool.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            BatchResult result = runJob(job);
+                            synchronized (lock){
+                                if (failure[0] == null){
+                                    results.accept(result);
+                                }
+                            }
+                        } catch (RuntimeException ex) {
+                            synchronized (lock){
+                                if (failure[0] == null){
+                                    failure[0] = ex;
+                                }
+                            }
+                        } finally {
+                            done.countDown();
+                        }
+                    }
+                });
+            }
+            done.await();
+        } finally {
+            pool.shutdownNow();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        if (failure[0] != null){
+            throw failure[0];
+        }
+    }
+
+    /**
+     * Runs every job and collects the results.
+     * 
+     * @param jobs the jobs to run
+     * @return the results, in completion order
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the jobs
+     */
+    public List<BatchResult> runAll(List<BatchJob> jobs) throws InterruptedException {
+        List<BatchResult> results = new ArrayList<>(jobs.size());
+        run(jobs, new Consumer<BatchResult>() {
+            @Override
+            public void accept(BatchResult result) {
+                results.add(result);
+            }
+        });
+        return results;
+    }
+
+    /**
+     * Loads and runs a single job on the current thread.
+     * 
+     * @param job the job to run
+     * @return its result
+     */
+    public BatchResult runJob(BatchJob job) {
+        long start = System.nanoTime();
+        Computer comp;
+        try {
+            comp = job.getLoader().load();
+        } catch (Exception ex) {
+            return new BatchResult(job, BatchResult.Status.LOAD_FAILED, null, 0, ex, System.nanoTime() - start);
+        }
+        long executedBefore = comp.getInstructionCount();
+        BatchResult.Status status;
+        Exception error = null;
+        try {
+            if (this.trace != null){
+                this.trace.println("trace of " + job.getName() + ":");
+                comp.trace(this.budget, this.trace);
+            }
+            else {
+                comp.run(this.budget);
+            }
+            status = comp.getPC().getValue() == comp.getDS().getValue()
+                    ? BatchResult.Status.HALTED : BatchResult.Status.BUDGET_EXHAUSTED;
+        } catch (CodeSegmentViolatedException ex) {
+            status = BatchResult.Status.FAULT;
+            error = ex;
+        }
+        return new BatchResult(job, status, comp, comp.getInstructionCount() - executedBefore, error,
+                System.nanoTime() - start);
+    }
+
+}
@@ -13,4 +13,13 @@ public class WarningException extends Exception{
     public WarningException() {
         super("Ocurrio algún error al correr el programa");
     }
+    
+    /**
+     * Initializes the exception with a description of the problem.
+     * 
+     * @param message the description, such as the source line and the reason an assembly failed
+     */
+    public WarningException(String message) {
+        super(message);
+    }
 }
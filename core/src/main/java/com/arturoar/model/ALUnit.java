@@ -1,6 +1,7 @@
 package com.arturoar.model;
 
 import com.arturoar.exceptions.CodeSegmentViolatedException;
+import com.arturoar.tools.BitOps;
 
 /**
  * Arithmetic Logic Unit (ALU) for the RISC architecture simulator.
@@ -15,7 +16,8 @@ import com.arturoar.exceptions.CodeSegmentViolatedException;
  * - Data Loading: load 12-bit immediate values
  * 
  * Each operation updates the program counter (PC) and relevant flags after execution.
- * Flag registers track: overflow, carry, zero, and sign status.
+ * Flags track: overflow, carry, zero, and sign status. They are recorded lazily in the computer's
+ * {@link RegisterFile} and only evaluated when a conditional jump or the user interface reads them.
  * 
  * @author arturoar
  */
@@ -31,6 +33,7 @@ public class ALUnit {
     public ALUnit(Computer computer) {
         this.computer = computer;
     }
+    
     /**
      * Performs addition of two source registers and stores the result in destination register.
      * Updates flags for overflow, carry, zero, and sign status.
@@ -42,35 +45,9 @@ public class ALUnit {
     public void add(Register dest, Register src1,Register src2){
         
         int sum = src1.getValue() + src2.getValue();
-        int res = dest.setValue(sum);
-        if ( res == 1){
-            computer.flags[0].setValueAsInstr(0);
-            computer.flags[1].setValueAsInstr(0);
-            if (sum == 0){
-                computer.flags[2].setValueAsInstr(1);
-                computer.flags[3].setValueAsInstr(0);
-            }else{
-                computer.flags[2].setValueAsInstr(0);
-                if (sum < 0){
-                    computer.flags[3].setValueAsInstr(1);
-                }
-                else{
-                    computer.flags[3].setValueAsInstr(0);
-                }
-            }
-        }
-        else{
-            computer.flags[0].setValueAsInstr(1);
-            computer.flags[1].setValueAsInstr(1);
-            computer.flags[2].setValueAsInstr(0);
-             if (res == 0){
-                computer.flags[3].setValueAsInstr(0);
-             }else{
-                computer.flags[3].setValueAsInstr(1);
-             }
-            
-        }
-        computer.PC.setValue(computer.PC.getValue()+1);
+        dest.setValue(sum);
+        computer.regs.deferArith(sum, dest.getValue());
+        computer.regs.advancePc();
         
     }
     /**
@@ -83,35 +60,9 @@ public class ALUnit {
      */
     public void sub(Register dest, Register src1,Register src2){
         int diff = src1.getValue() - src2.getValue();
-        int res = dest.setValue(diff);
-        if ( res == 1){
-            computer.flags[0].setValueAsInstr(0);
-            computer.flags[1].setValueAsInstr(0);
-            if (diff == 0){
-                computer.flags[2].setValueAsInstr(1);
-                computer.flags[3].setValueAsInstr(0);
-            }else{
-                computer.flags[2].setValueAsInstr(0);
-                if (diff < 0){
-                    computer.flags[3].setValueAsInstr(1);
-                }
-                else{
-                    computer.flags[3].setValueAsInstr(0);
-                }
-            }
-        }
-        else{
-            computer.flags[0].setValueAsInstr(1);
-            computer.flags[1].setValueAsInstr(1);
-            computer.flags[2].setValueAsInstr(0);
-             if (res == 0){
-                computer.flags[3].setValueAsInstr(0);
-             }else{
-                computer.flags[3].setValueAsInstr(1);
-             }
-            
-        }
-        computer.PC.setValue(computer.PC.getValue()+1);
+        dest.setValue(diff);
+        computer.regs.deferArith(diff, dest.getValue());
+        computer.regs.advancePc();
     }
     /**
      * Performs bitwise AND operation on two source registers and stores the result in destination register.
@@ -123,22 +74,8 @@ public class ALUnit {
      */
     public void and(Register dest, Register src1,Register src2){
         dest.setValueAsInstr(src1.getValue() & src2.getValue());
-        computer.flags[0].setValueAsInstr(0);
-        computer.flags[1].setValueAsInstr(0);
-        String res = dest.getBinaryValue();
-        if (res.startsWith("1")){
-            computer.flags[3].setValueAsInstr(1);
-        }
-        else{
-            computer.flags[3].setValueAsInstr(0);
-        }
-        if (dest.getValue() == 0){
-            computer.flags[2].setValueAsInstr(1);
-        }
-        else{
-            computer.flags[2].setValueAsInstr(0);
-        }
-        computer.PC.setValue(computer.PC.getValue()+1);
+        computer.regs.deferArith(0, dest.getValue());
+        computer.regs.advancePc();
         
     }
     /**
@@ -151,20 +88,8 @@ public class ALUnit {
      */
     public void or(Register dest, Register src1,Register src2){
         dest.setValueAsInstr(src1.getValue() | src2.getValue());
-        String res = dest.getBinaryValue();
-        if (res.startsWith("1")){
-            computer.flags[3].setValueAsInstr(1);
-        }
-        else{
-            computer.flags[3].setValueAsInstr(0);
-        }
-        if (dest.getValue() == 0){
-            computer.flags[2].setValueAsInstr(1);
-        }
-        else{
-            computer.flags[2].setValueAsInstr(0);
-        }
-        computer.PC.setValue(computer.PC.getValue()+1);
+        computer.regs.deferLogic(dest.getValue());
+        computer.regs.advancePc();
     }
     /**
      * Performs bitwise XOR (exclusive OR) operation on two source registers and stores the result in destination register.
@@ -176,20 +101,8 @@ public class ALUnit {
      */
     public void xor(Register dest, Register src1,Register src2){
         dest.setValueAsInstr(src1.getValue() ^ src2.getValue());
-        String res = dest.getBinaryValue();
-        if (res.startsWith("1")){
-            computer.flags[3].setValueAsInstr(1);
-        }
-        else{
-            computer.flags[3].setValueAsInstr(0);
-        }
-        if (dest.getValue() == 0){
-            computer.flags[2].setValueAsInstr(1);
-        }
-        else{
-            computer.flags[2].setValueAsInstr(0);
-        }
-        computer.PC.setValue(computer.PC.getValue()+1);
+        computer.regs.deferLogic(dest.getValue());
+        computer.regs.advancePc();
     }
     /**
      * Performs bitwise NOT (complement) operation on a source register and stores the result in destination register.
@@ -199,31 +112,9 @@ public class ALUnit {
      * @param src the source operand register
      */
     public void not(Register dest, Register src){
-        String value = src.getBinaryValue();
-        String notValue = "";
-        for(int i = 0; i < src.getSize();i++){
-            if( value.charAt(i)== '1'){
-                notValue = notValue + "0";
-            }
-            else{
-                notValue = notValue + "1";
-            }
-        }
-        dest.setValueAsInstr(Integer.parseInt(notValue, 2));
-        String res = dest.getBinaryValue();
-        if (res.startsWith("1")){
-            computer.flags[3].setValueAsInstr(1);
-        }
-        else{
-            computer.flags[3].setValueAsInstr(0);
-        }
-        if (dest.getValue() == 0){
-            computer.flags[2].setValueAsInstr(1);
-        }
-        else{
-            computer.flags[2].setValueAsInstr(0);
-        }
-        computer.PC.setValue(computer.PC.getValue()+1);
+        dest.setValueAsInstr(BitOps.wrap(~src.getValue(), src.getSize()));
+        computer.regs.deferLogic(dest.getValue());
+        computer.regs.advancePc();
     }
     /**
      * Compares two source registers by computing src1 - src2 without storing the result.
@@ -234,36 +125,8 @@ public class ALUnit {
      */
     public void cmp(Register src1,Register src2){
         int diff = src1.getValue() - src2.getValue();
-        Register dest = new Register(16);
-        int res = dest.setValue(diff);
-        if ( res == 1){
-            computer.flags[0].setValueAsInstr(0);
-            computer.flags[1].setValueAsInstr(0);
-            if (diff == 0){
-                computer.flags[2].setValueAsInstr(1);
-                computer.flags[3].setValueAsInstr(0);
-            }else{
-                computer.flags[2].setValueAsInstr(0);
-                if (diff < 0){
-                    computer.flags[3].setValueAsInstr(1);
-                }
-                else{
-                    computer.flags[3].setValueAsInstr(0);
-                }
-            }
-        }
-        else{
-            computer.flags[0].setValueAsInstr(1);
-            computer.flags[1].setValueAsInstr(1);
-            computer.flags[2].setValueAsInstr(0);
-             if (res == 0){
-                computer.flags[3].setValueAsInstr(0);
-             }else{
-                computer.flags[3].setValueAsInstr(1);
-             }
-            
-        }
-        computer.PC.setValue(computer.PC.getValue()+1);
+        computer.regs.deferArith(diff, MicroOps.saturate(diff));
+        computer.regs.advancePc();
     }
     /**
      * Loads a value from memory into a destination register.
@@ -274,27 +137,29 @@ public class ALUnit {
      * @throws CodeSegmentViolatedException if the address is outside the valid data segment
      */
     public void load(Register dest, Register src) throws CodeSegmentViolatedException{
-        if (src.getValue() >= computer.getDS().getValue() && src.getValue() < computer.mem.getMemorySize()){
-            dest.setValue(computer.mem.getMemory()[src.getValue()].getValue());
+        if (computer.mem.isDataAddress(src.getValue(), computer.regs.get(RegisterFile.DS))){
+            dest.setValue(computer.mem.read(src.getValue()));
         }
         else {
              throw new CodeSegmentViolatedException();
         }
-       computer.PC.setValue(computer.PC.getValue()+1);
+       computer.regs.advancePc();
     }
     /**
      * Stores a value from a source register into memory.
      * The first register contains the destination memory address, the second contains the value to store.
      * Validates that the address is within the data segment.
+     * If the written cell holds a predecoded instruction, the cached instruction is invalidated.
      * 
      * @param src1 the register containing the memory address where the value will be stored
      * @param src2 the register containing the value to store in memory
      * @throws CodeSegmentViolatedException if the address is outside the valid data segment
      */
     public void store(Register src1,Register src2) throws CodeSegmentViolatedException{
-        if(src1.getValue() >= computer.getDS().getValue() && src1.getValue() < computer.mem.getMemorySize()){
-            computer.mem.memory[src1.getValue()].setValue(src2.getValue());
-            computer.PC.setValue(computer.PC.getValue()+1);
+        if(computer.mem.isDataAddress(src1.getValue(), computer.regs.get(RegisterFile.DS))){
+            computer.mem.write(src1.getValue(), MicroOps.saturate(src2.getValue()));
+            computer.memoryWritten(src1.getValue());
+            computer.regs.advancePc();
         }
         else{
             throw new CodeSegmentViolatedException();
@@ -308,9 +173,9 @@ public class ALUnit {
      * @throws CodeSegmentViolatedException if the resulting address is outside the valid code segment
      */
     public void jump(int n) throws CodeSegmentViolatedException{
-        int newPC = computer.PC.getValue() + n;
-        if ( newPC >= 0 && newPC < computer.DS.getValue()){
-            computer.PC.setValue(newPC);
+        int newPC = computer.regs.get(RegisterFile.PC) + n;
+        if ( newPC >= 0 && newPC < computer.regs.get(RegisterFile.DS)){
+            computer.regs.jumpTo(newPC);
         }
         else{
             throw new CodeSegmentViolatedException();
@@ -321,7 +186,7 @@ public class ALUnit {
      * Used as a placeholder or for timing purposes.
      */
     public void nop(){
-        computer.PC.setValue(computer.PC.getValue()+1);
+        computer.regs.advancePc();
     }
     /**
      * Conditional jump if zero: jumps to PC + n only if the zero flag is set (result was zero).
@@ -332,17 +197,17 @@ public class ALUnit {
      * @throws CodeSegmentViolatedException if the resulting address is outside the valid code segment
      */
     public void jz(int n) throws CodeSegmentViolatedException{
-        if (1 == computer.flags[2].getValue()){
-            int newPC = computer.PC.getValue() + n;
-            if ( newPC >= 0 && newPC < computer.DS.getValue()){
-                computer.PC.setValue(newPC);
+        if (computer.regs.isZero()){
+            int newPC = computer.regs.get(RegisterFile.PC) + n;
+            if ( newPC >= 0 && newPC < computer.regs.get(RegisterFile.DS)){
+                computer.regs.jumpTo(newPC);
             }
             else{
                 throw new CodeSegmentViolatedException();
             }
         }
         else{
-            computer.PC.setValue(computer.PC.getValue()+1);
+            computer.regs.advancePc();
         }
     }
     /**
@@ -354,17 +219,17 @@ public class ALUnit {
      * @throws CodeSegmentViolatedException if the resulting address is outside the valid code segment
      */
     public void jnz(int n) throws CodeSegmentViolatedException{
-        if (0 == computer.flags[2].getValue()){
-            int newPC = computer.PC.getValue() + n;
-            if ( newPC >= 0 && newPC < computer.DS.getValue()){
-                computer.PC.setValue(newPC);
+        if (!computer.regs.isZero()){
+            int newPC = computer.regs.get(RegisterFile.PC) + n;
+            if ( newPC >= 0 && newPC < computer.regs.get(RegisterFile.DS)){
+                computer.regs.jumpTo(newPC);
             }
             else{
                 throw new CodeSegmentViolatedException();
             }
         }
         else{
-            computer.PC.setValue(computer.PC.getValue()+1);
+            computer.regs.advancePc();
         }
     }
     /**
@@ -377,7 +242,7 @@ public class ALUnit {
      */
     public void shiftLeft(Register dest, Register src){
         dest.setValue(src.getValue()<<1);
-        computer.PC.setValue(computer.PC.getValue()+1);
+        computer.regs.advancePc();
     }
     /**
      * Bitwise right shift: shifts all bits in the source register one position to the right.
@@ -389,7 +254,7 @@ public class ALUnit {
      */
     public void shiftRight(Register dest, Register src){
         dest.setValue(src.getValue()>>1);
-        computer.PC.setValue(computer.PC.getValue()+1);
+        computer.regs.advancePc();
     }
     /**
      * Loads a 12-bit immediate value into a register.
@@ -400,6 +265,6 @@ public class ALUnit {
      */
     public void load12Bit(Register loadRegister,int n){
         loadRegister.setValue(n);
-        computer.PC.setValueAsInstr(computer.PC.getValue()+1);
+        computer.regs.set(RegisterFile.PC, computer.regs.get(RegisterFile.PC) + 1);
     }
 }
@@ -0,0 +1,215 @@
+package com.arturoar.model;
+
+import com.arturoar.exceptions.CodeSegmentViolatedException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs a {@link Computer} on a background thread and publishes snapshots of its state for a display.
+ * 
+ * The program runs in chunks through {@link Computer#run(long)}, either at full speed or paced to a
+ * target rate in instructions per second, until it halts (the program counter reaches the data
+ * segment), faults, or {@link #pause()} is called. Between chunks the runner publishes a
+ * {@link MachineSnapshot}, but only once the previous one has been taken: a display polling
+ * {@link #takeSnapshot()} once per frame always gets the latest state and never makes the runner copy
+ * the machine faster than it can be shown. The final state is always published; if it supersedes a
+ * snapshot nobody took, it carries the changes of both, so a display refreshing from
+ * {@link MachineSnapshot#getChanges()} misses nothing.
+ * 
+ * While the runner is running, the computer belongs to its thread and must not be touched by any other.
+ * Once {@link #pause()} returns, or the state is no longer {@link State#RUNNING}, the computer can be
+ * used again, for instance to execute single steps, and {@link #start()} resumes the program where it stopped.
+ * 
+ * @author arturoar
+ */
+public class BackgroundRunner {
+
+    /**
+     * Lifecycle of a runner.
+     */
+    public enum State {
+        /** Not started yet. */
+        IDLE,
+        /** Executing on the background thread. */
+        RUNNING,
+        /** Stopped by {@link BackgroundRunner#pause()}; can be resumed. */
+        PAUSED,
+        /** The program counter reached the data segment. */
+        HALTED,
+        /** An instruction accessed memory outside its segment; see {@link BackgroundRunner#getError()}. */
+        FAULTED
+    }
+
+    /**
+     * Target rate meaning no pacing: the program runs as fast as the execution mode allows.
+     */
+    public static final double FULL_SPEED = 0;
+
+    /**
+     * Maximum number of instructions executed between two checks for a pause request or a snapshot.
+     */
+    private static final long CHUNK = 10_000;
+
+    /**
+     * Longest sleep while waiting for the next paced instruction, so rate changes are picked up quickly.
+     */
+    private static final long MAX_SLEEP_MILLIS = 50;
+
+    private final Computer comp;
+    private final AtomicReference<MachineSnapshot> latest = new AtomicReference<>();
+    private volatile double targetRate = FULL_SPEED;
+    private volatile boolean pauseRequested;
+    private volatile State state = State.IDLE;
+    private volatile CodeSegmentViolatedException error;
+    private Thread thread;
+
+    /**
+     * Initializes a runner for a computer with a loaded program.
+     * 
+     * @param comp the computer to run
+     */
+    public BackgroundRunner(Computer comp) {
+        this.comp = comp;
+    }
+
+    /**
+     * Starts or resumes the program on a new background thread. Does nothing if it is already running.
+     */
+    public synchronized void start() {
+        if (this.state == State.RUNNING){
+            return;
+        }
+        this.pauseRequested = false;
+        this.error = null;
+        this.state = State.RUNNING;
+        this.thread = new Thread(this::runLoop, "risc-runner");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Stops the program after the instruction being executed and waits for the background thread to end.
+     * The state becomes {@link State#PAUSED}, unless the program halted or faulted first.
+     * Does nothing if the runner is not running.
+     * 
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public synchronized void pause() throws InterruptedException {
+        if (this.thread == null){
+            return;
+        }
+        this.pauseRequested = true;
+        this.thread.interrupt();
+        this.thread.join();
+        this.thread = null;
+    }
+
+    /**
+     * Retrieves the latest published snapshot and clears it, so the runner publishes a newer one.
+     * 
+     * @return the latest snapshot, or null if none was published since the previous call
+     */
+    public MachineSnapshot takeSnapshot() {
+        return this.latest.getAndSet(null);
+    }
+
+    /**
+     * Sets the pace of the program; it takes effect while running.
+     * 
+     * @param instructionsPerSecond the target rate, or {@link #FULL_SPEED}
+     * @throws IllegalArgumentException if the rate is negative or not a number
+     */
+    public void setTargetRate(double instructionsPerSecond) {
+        if (!(instructionsPerSecond >= 0)){
+            throw new IllegalArgumentException("Invalid target rate: " + instructionsPerSecond);
+        }
+        this.targetRate = instructionsPerSecond;
+    }
+
+    /**
+     * Retrieves the pace of the program.
+     * 
+     * @return the target rate in instructions per second, or {@link #FULL_SPEED}
+     */
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    /**
+     * Retrieves the state of the runner.
+     * 
+     * @return the state
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Retrieves the fault that stopped the program.
+     * 
+     * @return the exception thrown by the faulting instruction, or null if the state is not {@link State#FAULTED}
+     */
+    public CodeSegmentViolatedException getError() {
+        return error;
+    }
+
+    /**
+     * Retrieves the computer being run.
+     * 
+     * @return the computer
+     */
+    public Computer getComputer() {
+        return comp;
+    }
+
+    /**
+     * Body of the background thread.
+     * Paced runs count the instructions due since the rate was last set and sleep until the next one is due.
+     */
+    private void runLoop() {
+        State end = State.PAUSED;
+        double rate = -1;
+        long since = 0;
+        long executed = 0;
+        try {
+            while (!this.pauseRequested){
+                if (this.comp.getPC().getValue() == this.comp.getDS().getValue()){
+                    end = State.HALTED;
+                    break;
+                }
+                long budget = CHUNK;
+                if (this.targetRate != rate){
+                    rate = this.targetRate;
+                    since = System.nanoTime();
+                    executed = 0;
+                }
+                if (rate != FULL_SPEED){
+                    long elapsed = System.nanoTime() - since;
+                    long due = (long) (elapsed * rate / 1e9) + 1 - executed;
+                    if (due <= 0){
+                        long wait = (long) ((executed / rate) * 1e9) - elapsed;
+                        try {
+                            Thread.sleep(Math.max(1, Math.min(MAX_SLEEP_MILLIS, wait / 1_000_000)));
+                        } catch (InterruptedException ex) {
+                            // woken up by pause(); the loop condition ends the run
+                        }
+                        continue;
+                    }
+                    budget = Math.min(due, CHUNK);
+                }
+                executed += this.comp.run(budget);
+                if (this.latest.get() == null){
+                    this.latest.set(this.comp.snapshot());
+                }
+            }
+        } catch (CodeSegmentViolatedException ex) {
+            this.error = ex;
+            end = State.FAULTED;
+        }
+        // published before the state changes, so a reader seeing the final state also finds its snapshot
+        MachineSnapshot last = this.comp.snapshot();
+        MachineSnapshot unread = this.latest.getAndSet(null);
+        this.latest.set(unread == null ? last : last.after(unread));
+        this.state = end;
+    }
+
+}
@@ -0,0 +1,461 @@
+package com.arturoar.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.HashMap;
+
+/**
+ * Translates basic blocks of RISC instructions into JVM bytecode.
+ * 
+ * Each block becomes a hidden class implementing {@link CompiledBlock} whose {@code execute} method
+ * contains the instructions of the block one after the other, with register indices, immediates
+ * and jump targets as constants. Arithmetic is emitted inline; flag updates, memory accesses and
+ * faults call the shared helpers in {@link MicroOps} and {@link JitEngine}, which the JVM inlines.
+ * 
+ * Flag updates are only emitted when they can be observed: a flag write that is overwritten
+ * later in the same block, before any branch or instruction that can fault, is dropped.
+ * 
+ * Classes are written in the version 49 format, which does not need stack map frames.
+ * 
+ * @author arturoar
+ */
+final class BlockCompiler {
+
+    private static final String STATE = "[I";
+    private static final String COMPUTER = "Lcom/arturoar/model/Computer;";
+    private static final String MICRO_OPS = "com/arturoar/model/MicroOps";
+    private static final String JIT_ENGINE = "com/arturoar/model/JitEngine";
+
+    /**
+     * The sign/zero flag pair is read later in the block.
+     */
+    private static final int LIVE_SZ = 1;
+    /**
+     * The carry/overflow flag pair is read later in the block.
+     */
+    private static final int LIVE_CO = 2;
+
+    private static final int ICONST_0 = 0x03;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int LDC_W = 0x13;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int IALOAD = 0x2e;
+    private static final int IASTORE = 0x4f;
+    private static final int POP = 0x57;
+    private static final int IADD = 0x60;
+    private static final int ISUB = 0x64;
+    private static final int ISHL = 0x78;
+    private static final int ISHR = 0x7a;
+    private static final int IAND = 0x7e;
+    private static final int IOR = 0x80;
+    private static final int IXOR = 0x82;
+    private static final int IFEQ = 0x99;
+    private static final int IFNE = 0x9a;
+    private static final int IRETURN = 0xac;
+    private static final int RETURN = 0xb1;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private BlockCompiler() {
+    }
+
+    /**
+     * Compiles a basic block.
+     * 
+     * @param start address of the first instruction of the block
+     * @param block the decoded instructions of the block, in address order
+     * @param pcLimit highest value the program counter can take
+     * @param ds size of the code segment, used to validate jump targets
+     * @return the compiled block
+     */
+    static CompiledBlock compile(int start, Instruction[] block, int pcLimit, int ds) {
+        byte[] bytes = new ClassBuilder(start, block, pcLimit, ds).build();
+        try {
+            MethodHandles.Lookup hidden = LOOKUP.defineHiddenClass(bytes, true);
+            return (CompiledBlock) hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Could not define compiled block at " + start, ex);
+        }
+    }
+
+    /**
+     * Writes the class file of one compiled block.
+     */
+    private static final class ClassBuilder {
+
+        private final int start;
+        private final Instruction[] block;
+        private final int pcLimit;
+        private final int ds;
+        private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+        private final DataOutputStream poolOut = new DataOutputStream(pool);
+        private final HashMap<String, Integer> poolIndex = new HashMap<>();
+        private int poolCount = 1;
+        private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+
+        ClassBuilder(int start, Instruction[] block, int pcLimit, int ds) {
+            this.start = start;
+            this.block = block;
+            this.pcLimit = pcLimit;
+            this.ds = ds;
+        }
+
+        byte[] build() {
+            try {
+                int thisClass = classRef("com/arturoar/model/CompiledBlock$" + start);
+                int superClass = classRef("java/lang/Object");
+                int iface = classRef("com/arturoar/model/CompiledBlock");
+                int codeName = utf8("Code");
+                int initName = utf8("<init>");
+                int initType = utf8("()V");
+                int objectInit = methodRef("java/lang/Object", "<init>", "()V");
+                int executeName = utf8("execute");
+                int executeType = utf8("(" + STATE + COMPUTER + ")I");
+                emitBody();
+
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.writeInt(0xCAFEBABE);
+                out.writeShort(0);
+                out.writeShort(49);
+                out.writeShort(poolCount);
+                pool.writeTo(out);
+                out.writeShort(0x0031);
+                out.writeShort(thisClass);
+                out.writeShort(superClass);
+                out.writeShort(1);
+                out.writeShort(iface);
+                out.writeShort(0);
+                out.writeShort(2);
+
+                byte[] init = {(byte) ALOAD_0, (byte) INVOKESPECIAL, (byte) (objectInit >> 8), (byte) objectInit, (byte) RETURN};
+                writeMethod(out, initName, initType, codeName, 1, 1, init);
+                writeMethod(out, executeName, executeType, codeName, 6, 3, code.toByteArray());
+                out.writeShort(0);
+                return bytes.toByteArray();
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        private void writeMethod(DataOutputStream out, int name, int type, int codeName,
+                int maxStack, int maxLocals, byte[] body) throws IOException {
+            out.writeShort(0x0001);
+            out.writeShort(name);
+            out.writeShort(type);
+            out.writeShort(1);
+            out.writeShort(codeName);
+            out.writeInt(12 + body.length);
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(body.length);
+            out.write(body);
+            out.writeShort(0);
+            out.writeShort(0);
+        }
+
+        /**
+         * Emits the instructions of the block followed by the return of the next address.
+         */
+        private void emitBody() throws IOException {
+            int[] live = flagLiveness();
+            for (int i = 0; i < block.length; i++){
+                Instruction instr = block[i];
+                int address = start + i;
+                boolean flags = live[i] != 0;
+                int d = instr.getDestRgr();
+                int a = instr.getSrcRgr1();
+                int b = instr.getSrcRgr2();
+                switch (instr.getOperation()){
+                    case 0:
+                        emitArith(d, a, b, IADD, flags);
+                        break;
+                    case 1:
+                        emitArith(d, a, b, ISUB, flags);
+                        break;
+                    case 2:
+                        emitLogic(d, a, b, IAND, flags ? "logicClear" : null);
+                        break;
+                    case 3:
+                        emitLogic(d, a, b, IOR, flags ? "logic" : null);
+                        break;
+                    case 4:
+                        emitLogic(d, a, b, IXOR, flags ? "logic" : null);
+                        break;
+                    case 5:
+                        op(ALOAD_1);
+                        iconst(d);
+                        if (flags){
+                            op(ALOAD_1);
+                        }
+                        loadRegister(a);
+                        iconst(-1);
+                        op(IXOR);
+                        iconst(0xFFFF);
+                        op(IAND);
+                        if (flags){
+                            invokeStatic(MICRO_OPS, "logic", "(" + STATE + "I)I");
+                        }
+                        op(IASTORE);
+                        break;
+                    case 6:
+                    case 7:
+                        op(ALOAD_1);
+                        iconst(d);
+                        loadRegister(a);
+                        iconst(1);
+                        op(instr.getOperation() == 6 ? ISHL : ISHR);
+                        invokeStatic(MICRO_OPS, "saturate", "(I)I");
+                        op(IASTORE);
+                        break;
+                    case 8:
+                    case 10:
+                        storeProgramCounter(address);
+                        op(ALOAD_1);
+                        op(ALOAD_2);
+                        iconst(instr.getOperation() == 8 ? d : a);
+                        iconst(instr.getOperation() == 8 ? a : b);
+                        invokeStatic(JIT_ENGINE, instr.getOperation() == 8 ? "load" : "store", "(" + STATE + COMPUTER + "II)V");
+                        break;
+                    case 9:
+                        if (flags){
+                            op(ALOAD_1);
+                            loadRegister(a);
+                            loadRegister(b);
+                            op(ISUB);
+                            invokeStatic(MICRO_OPS, "arith", "(" + STATE + "I)I");
+                            op(POP);
+                        }
+                        break;
+                    case 11:
+                        emitJumpTo(address, address + instr.getNum());
+                        return;
+                    case 12:
+                    case 13:
+                        op(ALOAD_1);
+                        invokeStatic(MICRO_OPS, "isZero", "(" + STATE + ")Z");
+                        int branch = code.size();
+                        op(instr.getOperation() == 12 ? IFEQ : IFNE);
+                        code.write(0);
+                        code.write(0);
+                        emitJumpTo(address, address + instr.getNum());
+                        patchBranch(branch, code.size() - branch);
+                        iconst(address + 1);
+                        op(IRETURN);
+                        return;
+                    case 14:
+                        op(ALOAD_1);
+                        iconst(0);
+                        iconst(MicroOps.saturate(instr.getNum()));
+                        op(IASTORE);
+                        break;
+                    default:
+                        break;
+                }
+            }
+            iconst(start + block.length);
+            op(IRETURN);
+        }
+
+        /**
+         * Computes, for every instruction, which flag pairs it writes that are read afterwards.
+         * Branches read the zero flag; instructions that can fault need every flag to be exact.
+         * 
+         * @return a bit set of {@link #LIVE_SZ} and {@link #LIVE_CO} per instruction
+         */
+        private int[] flagLiveness() {
+            int[] needed = new int[block.length];
+            int live = LIVE_SZ | LIVE_CO;
+            for (int i = block.length - 1; i >= 0; i--){
+                switch (block[i].getOperation()){
+                    case 0:
+                    case 1:
+                    case 2:
+                    case 9:
+                        needed[i] = live;
+                        live = 0;
+                        break;
+                    case 3:
+                    case 4:
+                    case 5:
+                        needed[i] = live & LIVE_SZ;
+                        live &= ~LIVE_SZ;
+                        break;
+                    case 8:
+                    case 10:
+                    case 11:
+                    case 12:
+                    case 13:
+                        live = LIVE_SZ | LIVE_CO;
+                        break;
+                    default:
+                        break;
+                }
+            }
+            return needed;
+        }
+
+        private void emitArith(int d, int a, int b, int opcode, boolean flags) throws IOException {
+            op(ALOAD_1);
+            iconst(d);
+            if (flags){
+                op(ALOAD_1);
+            }
+            loadRegister(a);
+            loadRegister(b);
+            op(opcode);
+            if (flags){
+                invokeStatic(MICRO_OPS, "arith", "(" + STATE + "I)I");
+            }
+            else{
+                invokeStatic(MICRO_OPS, "saturate", "(I)I");
+            }
+            op(IASTORE);
+        }
+
+        private void emitLogic(int d, int a, int b, int opcode, String flagHelper) throws IOException {
+            op(ALOAD_1);
+            iconst(d);
+            if (flagHelper != null){
+                op(ALOAD_1);
+            }
+            loadRegister(a);
+            loadRegister(b);
+            op(opcode);
+            if (flagHelper != null){
+                invokeStatic(MICRO_OPS, flagHelper, "(" + STATE + "I)I");
+            }
+            op(IASTORE);
+        }
+
+        /**
+         * Emits the return of a jump target, or a fault if the target lies outside the code segment.
+         */
+        private void emitJumpTo(int address, int target) throws IOException {
+            if (target < 0 || target >= ds){
+                storeProgramCounter(address);
+                invokeStatic(JIT_ENGINE, "fault", "()I");
+            }
+            else{
+                iconst(Math.min(target, pcLimit));
+            }
+            op(IRETURN);
+        }
+
+        private void storeProgramCounter(int address) throws IOException {
+            op(ALOAD_1);
+            iconst(RegisterFile.PC);
+            iconst(address);
+            op(IASTORE);
+        }
+
+        private void loadRegister(int index) throws IOException {
+            op(ALOAD_1);
+            iconst(index);
+            op(IALOAD);
+        }
+
+        private void patchBranch(int at, int offset) {
+            byte[] current = code.toByteArray();
+            current[at + 1] = (byte) (offset >> 8);
+            current[at + 2] = (byte) offset;
+            code.reset();
+            code.write(current, 0, current.length);
+        }
+
+        private void iconst(int value) throws IOException {
+            if (value >= -1 && value <= 5){
+                op(ICONST_0 + value);
+            }
+            else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE){
+                op(BIPUSH);
+                code.write(value);
+            }
+            else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE){
+                op(SIPUSH);
+                code.write(value >> 8);
+                code.write(value);
+            }
+            else{
+                int index = integer(value);
+                op(LDC_W);
+                code.write(index >> 8);
+                code.write(index);
+            }
+        }
+
+        private void invokeStatic(String owner, String name, String type) throws IOException {
+            int index = methodRef(owner, name, type);
+            op(INVOKESTATIC);
+            code.write(index >> 8);
+            code.write(index);
+        }
+
+        private void op(int opcode) {
+            code.write(opcode);
+        }
+
+        private int utf8(String value) throws IOException {
+            Integer index = poolIndex.get("U" + value);
+            if (index == null){
+                poolOut.writeByte(1);
+                poolOut.writeUTF(value);
+                index = poolCount++;
+                poolIndex.put("U" + value, index);
+            }
+            return index;
+        }
+
+        private int integer(int value) throws IOException {
+            Integer index = poolIndex.get("I" + value);
+            if (index == null){
+                poolOut.writeByte(3);
+                poolOut.writeInt(value);
+                index = poolCount++;
+                poolIndex.put("I" + value, index);
+            }
+            return index;
+        }
+
+        private int classRef(String name) throws IOException {
+            Integer index = poolIndex.get("C" + name);
+            if (index == null){
+                int nameIndex = utf8(name);
+                poolOut.writeByte(7);
+                poolOut.writeShort(nameIndex);
+                index = poolCount++;
+                poolIndex.put("C" + name, index);
+            }
+            return index;
+        }
+
+        private int methodRef(String owner, String name, String type) throws IOException {
+            String key = "M" + owner + "." + name + type;
+            Integer index = poolIndex.get(key);
+            if (index == null){
+                int ownerIndex = classRef(owner);
+                int nameIndex = utf8(name);
+                int typeIndex = utf8(type);
+                poolOut.writeByte(12);
+                poolOut.writeShort(nameIndex);
+                poolOut.writeShort(typeIndex);
+                int nameAndType = poolCount++;
+                poolOut.writeByte(10);
+                poolOut.writeShort(ownerIndex);
+                poolOut.writeShort(nameAndType);
+                index = poolCount++;
+                poolIndex.put(key, index);
+            }
+            return index;
+        }
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.arturoar.model;
+
+import java.util.Arrays;
+
+/**
+ * What changed in a {@link Computer} between two {@link MachineSnapshot}s: the memory addresses
+ * written by STORE instructions, with the words they held when the snapshot was taken, and the
+ * registers whose value differs.
+ * 
+ * A display can use it to refresh only the cells and registers that changed after a step or a batch
+ * of steps, and to bring its own copy of the memory up to date (see
+ * {@link MachineSnapshot#updateMirror(Memory)}). When the change set is {@linkplain #isFull() full}, for
+ * instance after a program was loaded or when change tracking was just enabled, anything may have
+ * changed and everything must be refreshed.
+ * 
+ * @author arturoar
+ */
+public final class ChangeSet {
+
+    private static final int[] NO_ADDRESSES = new int[0];
+
+    /**
+     * Change set that asks for a full refresh.
+     */
+    static final ChangeSet FULL = new ChangeSet(NO_ADDRESSES, NO_ADDRESSES, 0, true);
+
+    private final int[] addresses;
+    private final int[] words;
+    private final int registers;
+    private final boolean full;
+
+    /**
+     * Initializes a change set.
+     * 
+     * @param addresses the written addresses, in increasing order, owned by the change set
+     * @param words the words held at the written addresses, in the same order, owned by the change set
+     * @param registers the changed register slots, as a bit mask
+     * @param full true if everything may have changed
+     */
+    ChangeSet(int[] addresses, int[] words, int registers, boolean full) {
+        this.addresses = addresses;
+        this.words = words;
+        this.registers = registers;
+        this.full = full;
+    }
+
+    /**
+     * Checks whether anything may have changed, so every cell and register must be refreshed.
+     * 
+     * @return true for a full change set
+     */
+    public boolean isFull() {
+        return full;
+    }
+
+    /**
+     * Checks whether nothing changed.
+     * 
+     * @return true if no address and no register changed
+     */
+    public boolean isEmpty() {
+        return !full && addresses.length == 0 && registers == 0;
+    }
+
+    /**
+     * Retrieves the memory addresses written by STORE instructions. Meaningless for a full change set.
+     * 
+     * @return the addresses in increasing order; the array must not be modified
+     */
+    public int[] getAddresses() {
+        return addresses;
+    }
+
+    /**
+     * Retrieves the words held at the written addresses when the snapshot was taken. Meaningless for
+     * a full change set.
+     * 
+     * @return the words, in the order of {@link #getAddresses()}; the array must not be modified
+     */
+    public int[] getWords() {
+        return words;
+    }
+
+    /**
+     * Retrieves the changed registers as a bit mask. Meaningless for a full change set.
+     * 
+     * @return a mask with bit {@code 1 << slot} set for every changed {@link RegisterFile} slot
+     *         (general purpose registers, PC, IR, DS and FLAGS)
+     */
+    public int getRegisterMask() {
+        return registers;
+    }
+
+    /**
+     * Checks whether a register changed.
+     * 
+     * @param slot the {@link RegisterFile} slot of the register
+     * @return true if the register changed, or the change set is full
+     */
+    public boolean isRegisterChanged(int slot) {
+        return full || (registers & (1 << slot)) != 0;
+    }
+
+    /**
+     * Combines this change set with the one that came right before it.
+     * An address written in both keeps the word of this change set, the later one.
+     * 
+     * @param earlier the previous change set
+     * @return the changes of both
+     */
+    ChangeSet after(ChangeSet earlier) {
+        if (this.full || earlier.full){
+            return FULL;
+        }
+        int length = this.addresses.length + earlier.addresses.length;
+        int[] mergedAddresses = new int[length];
+        int[] mergedWords = new int[length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < earlier.addresses.length || j < this.addresses.length){
+            if (j == this.addresses.length || (i < earlier.addresses.length && earlier.addresses[i] < this.addresses[j])){
+                mergedAddresses[n] = earlier.addresses[i];
+                mergedWords[n++] = earlier.words[i++];
+            }
+            else {
+                if (i < earlier.addresses.length && earlier.addresses[i] == this.addresses[j]){
+                    i++;
+                }
+                mergedAddresses[n] = this.addresses[j];
+                mergedWords[n++] = this.words[j++];
+            }
+        }
+        return new ChangeSet(Arrays.copyOf(mergedAddresses, n), Arrays.copyOf(mergedWords, n),
+                this.registers | earlier.registers, false);
+    }
+
+}
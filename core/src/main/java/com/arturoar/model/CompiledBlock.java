@@ -0,0 +1,25 @@
+package com.arturoar.model;
+
+import com.arturoar.exceptions.CodeSegmentViolatedException;
+
+/**
+ * A basic block translated to JVM bytecode by the {@link BlockCompiler}.
+ * 
+ * Implementations are hidden classes generated at run time; each one executes a straight-line
+ * run of instructions directly on the slots of a {@link RegisterFile}.
+ * 
+ * @author arturoar
+ */
+interface CompiledBlock {
+
+    /**
+     * Executes the block.
+     * 
+     * @param s the register file slots
+     * @param comp the computer whose memory the block accesses
+     * @return the address of the next instruction to execute
+     * @throws CodeSegmentViolatedException if an instruction of the block faults; the program counter
+     *         slot holds the address of the faulting instruction
+     */
+    int execute(int[] s, Computer comp) throws CodeSegmentViolatedException;
+}
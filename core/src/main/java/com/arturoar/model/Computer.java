@@ -0,0 +1,632 @@
+package com.arturoar.model;
+
+import com.arturoar.exceptions.CodeSegmentViolatedException;
+import com.arturoar.exceptions.WarningException;
+import com.arturoar.tools.Assembler;
+import com.arturoar.tools.BitOps;
+import com.arturoar.tools.Disassembler;
+import com.arturoar.tools.ImageFile;
+import com.arturoar.tools.ProgramCache;
+import com.arturoar.tools.ProgramImage;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.BitSet;
+
+/**
+ * Represents a RISC (Reduced Instruction Set Computer) architecture simulator.
+ * 
+ * This class models a complete computer system with the following components:
+ * - Memory: Manages program and data storage
+ * - Control Unit (CU): Coordinates instruction fetch, decode, and execution
+ * - Arithmetic Logic Unit (ALU): Performs arithmetic and logical operations
+ * - General Purpose Registers (8 × 16-bit): Store intermediate values and operands
+ * - Flag Registers (4 × 1-bit): Store status flags (e.g., zero, carry, sign, overflow)
+ * - Program Counter (PC): Tracks the current instruction address
+ * - Instruction Register (IR): Holds the current instruction being executed
+ * - Data Segment (DS): Defines the size of the data/program segment
+ * 
+ * All registers are stored in a primitive {@link RegisterFile}. The Register objects returned by
+ * the getters are views over that file, kept for code that displays registers such as the user interface.
+ * 
+ * The Computer class manages the lifecycle of instruction execution, including:
+ * loading assembly programs into memory and executing them step by step through
+ * the standard fetch-decode-operand search-execute cycle.
+ * 
+ * @author arturoar
+ */
+public class Computer {
+    protected Memory mem;
+    private ControlUnit cu;
+    protected ALUnit alu;
+    protected Register[] registersPG;
+    protected Register[] flags;
+    protected Register PC;
+    protected Register IR;
+    protected Register DS;
+    protected RegisterFile regs;
+    protected InstructionCache instructionCache;
+    private ArrayList<String> highLevelInstruction;
+    private ExecutionMode executionMode;
+    protected long instructionCount;
+    private ThreadedEngine threadedEngine;
+    private JitEngine jitEngine;
+    private BitSet writtenAddresses;
+    private int[] reportedRegisters;
+    private Memory checkpointMemory;
+    private int[] checkpointRegisters;
+
+    /**
+     * Default width of the address bus (256 memory words).
+     */
+    public static final int DEFAULT_ADDRESS_BUS_WIDTH = 8;
+
+    /**
+     * Initializes a new Computer instance with default components
+     * and a {@value #DEFAULT_ADDRESS_BUS_WIDTH}-bit address bus.
+     */
+    public Computer() {
+        this(DEFAULT_ADDRESS_BUS_WIDTH);
+    }
+
+    /**
+     * Initializes a new Computer instance with a flat memory of the given address bus width.
+     * 
+     * @param addressBusWidth the width of the address bus in bits (1 to {@value Memory#MAX_ADDRESS_BUS_WIDTH})
+     * @throws IllegalArgumentException if the width is out of range
+     */
+    public Computer(int addressBusWidth) {
+        this(new Memory(addressBusWidth));
+    }
+
+    /**
+     * Initializes a new Computer instance around the given memory, e.g. a {@link PagedMemory}
+     * for large, sparsely used address spaces.
+     * Sets up control unit, ALU, the register file and its register views.
+     * The register file holds 8 general purpose registers (16-bit each), 4 flags (1-bit each),
+     * special registers: PC (Program Counter), IR (Instruction Register), and DS (Data Segment).
+     * PC and DS are as wide as the memory's address bus.
+     * The predecoded instruction cache for the memory is created empty.
+     * 
+     * @param mem the memory of the computer
+     */
+    public Computer(Memory mem) {
+        int addressBusWidth = mem.getAddressBusWidth();
+        this.mem = mem;
+        this.instructionCache = new InstructionCache(this.mem);
+        this.cu = new ControlUnit(this);
+        this.alu = new ALUnit(this);
+        this.regs = new RegisterFile(addressBusWidth);
+        this.registersPG = new Register[RegisterFile.GENERAL_PURPOSE];
+        for (int i = 0 ; i < RegisterFile.GENERAL_PURPOSE ; i++){
+            this.registersPG[i] = this.regs.view(i, 16);
+        }
+        this.flags = new Register[4];
+        for(int i = 0;i < 4;i++){
+            this.flags[i] = this.regs.flagView(i);
+        }
+        this.PC = this.regs.view(RegisterFile.PC, addressBusWidth);
+        this.IR = this.regs.view(RegisterFile.IR, 16);
+        this.DS = this.regs.view(RegisterFile.DS, addressBusWidth);
+        this.executionMode = ExecutionMode.INTERPRETER;
+    }
+    
+    /**
+     * Creates an independent copy of this computer: memory kind and contents, registers,
+     * loaded program and execution mode. Compiled code is not shared; the copy builds its own on demand.
+     * 
+     * @return the copy
+     */
+    public Computer copy(){
+        Computer copy = new Computer(this.mem.copy());
+        System.arraycopy(this.regs.words, 0, copy.regs.words, 0, RegisterFile.SIZE);
+        copy.instructionCache.load(this.DS.getValue());
+        copy.highLevelInstruction = this.highLevelInstruction;
+        copy.executionMode = this.executionMode;
+        copy.instructionCount = this.instructionCount;
+        return copy;
+    }
+
+    /**
+     * Takes an immutable copy of the registers and the instruction count, which can be read from
+     * another thread while this computer keeps running. Unlike {@link #copy()}, nothing needed to
+     * execute (control unit, caches, compiled code) is built for it.
+     * With change tracking enabled, the snapshot also carries the {@link ChangeSet} since the previous
+     * snapshot, with the words written since then, and the memory is only copied when that change set
+     * is full: a display keeps its own copy of the memory up to date with
+     * {@link MachineSnapshot#updateMirror(Memory)}, so taking a snapshot costs time proportional to what
+     * changed rather than to the size of memory. Without change tracking the change set is always full
+     * and every snapshot holds a copy of the memory.
+     * 
+     * @return the snapshot
+     */
+    public MachineSnapshot snapshot(){
+        ChangeSet changes = takeChanges();
+        return new MachineSnapshot(this.regs.copy(), changes.isFull() ? this.mem.copy() : null,
+                this.highLevelInstruction, this.instructionCount, changes);
+    }
+
+    /**
+     * Enables or disables change tracking. While it is enabled, the computer records the addresses
+     * written by STORE instructions and each {@link #snapshot()} reports them, along with the
+     * registers that changed, since the previous snapshot. The first snapshot after enabling it,
+     * and the first one after a program is loaded or the memory is replaced, has a full change set.
+     * 
+     * @param enabled whether to track changes
+     */
+    public void setChangeTracking(boolean enabled){
+        this.writtenAddresses = enabled ? new BitSet() : null;
+        this.reportedRegisters = null;
+    }
+
+    /**
+     * Checks whether change tracking is enabled.
+     * 
+     * @return true if snapshots report what changed since the previous one
+     */
+    public boolean isChangeTracking(){
+        return this.writtenAddresses != null;
+    }
+
+    /**
+     * Collects the changes since the previous call, with the words now held at the written addresses,
+     * and starts recording anew.
+     * Registers are compared with their values at the previous call; the flags through the packed word,
+     * so deferred condition codes do not count as changes.
+     */
+    private ChangeSet takeChanges(){
+        if (this.writtenAddresses == null){
+            return ChangeSet.FULL;
+        }
+        int[] current = new int[RegisterFile.FLAGS + 1];
+        System.arraycopy(this.regs.words, 0, current, 0, RegisterFile.FLAGS);
+        current[RegisterFile.FLAGS] = this.regs.getFlags();
+        ChangeSet changes = ChangeSet.FULL;
+        if (this.reportedRegisters != null){
+            int registers = 0;
+            for (int slot = 0; slot < current.length; slot++){
+                if (current[slot] != this.reportedRegisters[slot]){
+                    registers |= 1 << slot;
+                }
+            }
+            int[] addresses = new int[this.writtenAddresses.cardinality()];
+            int[] words = new int[addresses.length];
+            int n = 0;
+            for (int address = this.writtenAddresses.nextSetBit(0); address >= 0;
+                    address = this.writtenAddresses.nextSetBit(address + 1)){
+                addresses[n] = address;
+                words[n++] = this.mem.read(address);
+            }
+            changes = new ChangeSet(addresses, words, registers, false);
+        }
+        this.writtenAddresses.clear();
+        this.reportedRegisters = current;
+        return changes;
+    }
+    
+    /**
+     * Loads a program from an assembly file, or from a binary program image file, into the computer's memory.
+     * Image files (see {@link ImageFile}) are recognized by their header and loaded without assembling.
+     * An assembly file is looked up in the shared {@link ProgramCache} by the hash of its contents and
+     * only assembled if the cache does not hold it; nothing is written if assembly fails.
+     * 
+     * @param file the assembly file to be loaded and assembled, or the image file to be loaded
+     * @throws IOException if an I/O error occurs while reading the file, or an image file is corrupted
+     * @throws FileNotFoundException if the specified file is not found
+     * @throws WarningException if a warning occurs during assembly
+     */
+    public void loadProgramIntoMemory(File file) throws IOException, FileNotFoundException, WarningException{
+        if (ImageFile.isImage(file)){
+            loadProgramImage(ImageFile.read(file));
+        }
+        else {
+            loadProgramImage(ProgramCache.getShared().load(file));
+        }
+    }
+    
+    /**
+     * Loads an assembled program image into the computer's memory.
+     * The code and preinitialized data words are copied to address 0 in one bulk write, the data
+     * segment starts right after the code, and the code segment is predecoded into the instruction cache.
+     * The program counter is set to the entry point of the image.
+     * 
+     * @param image the program image
+     * @throws IndexOutOfBoundsException if the image does not fit in memory
+     */
+    public void loadProgramImage(ProgramImage image){
+        short[] words = image.getWords();
+        this.mem.write(0, words, 0, words.length);
+        programLoaded(image.getCodeLength(), image.getEntryPoint(), image.getSourceLines());
+    }
+    
+    /**
+     * Assembles a program streamed from a reader, such as the output of a program generator or
+     * standard input, writing each word into memory as soon as it is encoded.
+     * Unlike the other loads, memory may be left partially written if assembly fails.
+     * 
+     * @param source the assembly source; it is read to the end but not closed
+     * @param retainSource whether to keep the source line of every instruction for
+     *        {@link #getHighLevelInstruction()}; without them the memory used does not grow with the program
+     * @throws IOException if an I/O error occurs while reading the source
+     * @throws WarningException if the program does not assemble or does not fit in memory
+     */
+    public void loadProgramStream(Reader source, boolean retainSource) throws IOException, WarningException{
+        Assembler assembler = new Assembler(source);
+        assembler.setRetainSource(retainSource);
+        final Memory memory = this.mem;
+        int numInstr = assembler.assembleTo(new Assembler.WordSink() {
+            @Override
+            public void write(int address, int word) {
+                memory.write(address, word);
+            }
+        }, memory.getMemorySize());
+        programLoaded(numInstr, 0, retainSource ? assembler.getHighLevelInstruction() : null);
+    }
+    
+    /**
+     * Prepares the computer to run a program whose words are in memory: sets the data segment,
+     * predecodes the code segment, discards compiled code and points the program counter at the entry point.
+     */
+    private void programLoaded(int numInstr, int entryPoint, ArrayList<String> highLevelInstruction){
+        this.DS.setValueAsInstr(numInstr);
+        this.instructionCache.load(numInstr);
+        if (this.threadedEngine != null){
+            this.threadedEngine.reset();
+        }
+        if (this.jitEngine != null){
+            this.jitEngine.reset();
+        }
+        this.PC.setValueAsInstr(entryPoint);
+        this.IR.setValueAsInstr(this.mem.read(entryPoint));
+        this.highLevelInstruction = highLevelInstruction;
+        this.reportedRegisters = null;
+    }
+    
+    /**
+     * Executes the next instruction cycle.
+     * Performs the following steps in order: decode, operand search, execute, and fetch,
+     * and counts the instruction once it has completed.
+     * 
+     * @throws CodeSegmentViolatedException if an attempt is made to access memory outside the code segment
+     */
+    public void nextInstruction() throws CodeSegmentViolatedException{
+        
+        cu.decode();
+        cu.operandSearch();
+        cu.execute();
+        cu.fetch();
+        this.instructionCount++;
+    }
+    
+    /**
+     * Runs the loaded program with the selected execution mode until the program counter
+     * reaches the data segment or the instruction budget is exhausted.
+     * 
+     * @param maxInstructions the maximum number of instructions to execute
+     * @return the number of instructions executed
+     * @throws CodeSegmentViolatedException if an attempt is made to access memory outside the code segment;
+     *         the computer is left at the faulting instruction
+     */
+    public long run(long maxInstructions) throws CodeSegmentViolatedException{
+        if (this.executionMode == ExecutionMode.THREADED){
+            if (this.threadedEngine == null){
+                this.threadedEngine = new ThreadedEngine(this);
+            }
+            return this.threadedEngine.run(maxInstructions);
+        }
+        if (this.executionMode == ExecutionMode.JIT){
+            if (this.jitEngine == null){
+                this.jitEngine = new JitEngine(this);
+            }
+            return this.jitEngine.run(maxInstructions);
+        }
+        long executed = 0;
+        int[] words = this.regs.words;
+        while (executed < maxInstructions && words[RegisterFile.PC] != words[RegisterFile.DS]){
+            nextInstruction();
+            executed++;
+        }
+        return executed;
+    }
+
+    /**
+     * Runs the loaded program one instruction at a time, like {@link #run(long)} with the interpreter,
+     * printing a line for every instruction before it executes: its address and word in hexadecimal,
+     * and its {@linkplain Disassembler disassembly}. A faulting instruction is printed too.
+     * 
+     * @param maxInstructions the maximum number of instructions to execute
+     * @param out the stream receiving the trace
+     * @return the number of instructions executed
+     * @throws CodeSegmentViolatedException if an attempt is made to access memory outside the code segment;
+     *         the computer is left at the faulting instruction
+     */
+    public long trace(long maxInstructions, PrintStream out) throws CodeSegmentViolatedException{
+        StringBuilder line = new StringBuilder(32);
+        long executed = 0;
+        int[] words = this.regs.words;
+        while (executed < maxInstructions && words[RegisterFile.PC] != words[RegisterFile.DS]){
+            int word = words[RegisterFile.IR];
+            line.setLength(0);
+            BitOps.appendHex(line.append("  "), words[RegisterFile.PC], 4).append(':');
+            BitOps.appendHex(line.append(' '), word, 4).append("  ").append(Disassembler.disassemble(word));
+            out.println(line);
+            nextInstruction();
+            executed++;
+        }
+        return executed;
+    }
+
+    /**
+     * Records the current memory, registers and flags, typically right after a program was loaded,
+     * so that {@link #restoreCheckpoint()} can start the program over.
+     */
+    public void checkpoint(){
+        if (this.checkpointMemory == null || this.checkpointMemory.getMemorySize() != this.mem.getMemorySize()){
+            this.checkpointMemory = this.mem.copy();
+        }
+        else {
+            this.checkpointMemory.copyFrom(this.mem);
+        }
+        this.checkpointRegisters = new int[RegisterFile.FLAGS + 1];
+        System.arraycopy(this.regs.words, 0, this.checkpointRegisters, 0, RegisterFile.FLAGS);
+        this.checkpointRegisters[RegisterFile.FLAGS] = this.regs.getFlags();
+    }
+
+    /**
+     * Puts the memory, registers and flags back as they were at the last {@link #checkpoint()}, so a
+     * program can be run over and over on the same computer; with a flat {@link Memory} nothing is allocated.
+     * Predecoded and compiled code is kept, since a STORE cannot write the code segment; the program
+     * must not have been replaced since the checkpoint. The instruction count keeps growing, and with
+     * change tracking enabled the next snapshot has a full change set.
+     * 
+     * @throws IllegalStateException if no checkpoint was recorded
+     */
+    public void restoreCheckpoint(){
+        if (this.checkpointRegisters == null){
+            throw new IllegalStateException("No checkpoint recorded");
+        }
+        this.mem.copyFrom(this.checkpointMemory);
+        for (int slot = 0; slot < RegisterFile.FLAGS; slot++){
+            this.regs.set(slot, this.checkpointRegisters[slot]);
+        }
+        this.regs.setFlags(this.checkpointRegisters[RegisterFile.FLAGS]);
+        this.reportedRegisters = null;
+    }
+
+    /**
+     * Notifies the computer that a memory cell has been written by a STORE.
+     * Discards any predecoded or compiled form of the instruction held at that address,
+     * and records the address for the next snapshot if change tracking is enabled.
+     * 
+     * @param address the memory address that was written
+     */
+    void memoryWritten(int address){
+        if (this.writtenAddresses != null){
+            this.writtenAddresses.set(address);
+        }
+        this.instructionCache.invalidate(address);
+        if (this.threadedEngine != null){
+            this.threadedEngine.invalidate(address);
+        }
+        if (this.jitEngine != null){
+            this.jitEngine.invalidate(address);
+        }
+    }
+    
+    /**
+     * Retrieves the number of instructions completed since the computer was created,
+     * across every execution mode. A faulting instruction is not counted.
+     * 
+     * @return the number of instructions executed
+     */
+    public long getInstructionCount() {
+        return instructionCount;
+    }
+    
+    /**
+     * Selects the engine used by {@link #run(long)}.
+     * 
+     * @param executionMode the execution mode to use
+     */
+    public void setExecutionMode(ExecutionMode executionMode) {
+        this.executionMode = executionMode;
+    }
+    
+    /**
+     * Retrieves the engine used by {@link #run(long)}.
+     * 
+     * @return the current execution mode
+     */
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+    
+    /**
+     * Sets the memory component of the computer.
+     * The memory must have the same address bus width as the computer.
+     * The instruction cache and any compiled code are rebuilt empty for the new memory.
+     * 
+     * @param mem the Memory object to set
+     * @throws IllegalArgumentException if the memory's address bus width differs from the computer's
+     */
+    public void setMem(Memory mem) {
+        if (mem.getAddressBusWidth() != this.regs.getAddressWidth()){
+            throw new IllegalArgumentException("Memory address bus width " + mem.getAddressBusWidth()
+                    + " does not match the computer's " + this.regs.getAddressWidth());
+        }
+        this.mem = mem;
+        this.instructionCache = new InstructionCache(mem);
+        this.threadedEngine = null;
+        this.jitEngine = null;
+        this.reportedRegisters = null;
+    }
+
+    /**
+     * Sets the control unit component of the computer.
+     * 
+     * @param cu the ControlUnit object to set
+     */
+    public void setCu(ControlUnit cu) {
+        this.cu = cu;
+    }
+
+    /**
+     * Sets the arithmetic logic unit (ALU) component of the computer.
+     * 
+     * @param alu the ALUnit object to set
+     */
+    public void setAlu(ALUnit alu) {
+        this.alu = alu;
+    }
+
+    /**
+     * Sets the general purpose registers.
+     * The values of the given registers are copied into the register file.
+     * 
+     * @param registersPG the array of general purpose registers to copy
+     */
+    public void setRegistersPG(Register[] registersPG) {
+        for (int i = 0; i < RegisterFile.GENERAL_PURPOSE; i++){
+            this.regs.set(i, registersPG[i].getValue());
+        }
+    }
+
+    /**
+     * Sets a flag register value at the specified index.
+     * 
+     * @param value the value to set in the flag register
+     * @param index the index of the flag register (0-3)
+     */
+    public void setFlags(int value,int index) {
+        this.regs.setFlag(index, value);
+    }
+
+    /**
+     * Sets the program counter (PC) register.
+     * The value of the given register is copied into the register file.
+     * 
+     * @param PC the Register object holding the new program counter
+     */
+    public void setPC(Register PC) {
+        this.regs.set(RegisterFile.PC, PC.getValue());
+    }
+
+    /**
+     * Sets the instruction register (IR).
+     * The value of the given register is copied into the register file.
+     * 
+     * @param IR the Register object holding the new instruction register value
+     */
+    public void setIR(Register IR) {
+        this.regs.set(RegisterFile.IR, IR.getValue());
+    }
+
+    /**
+     * Sets the data segment (DS) register.
+     * The value of the given register is copied into the register file.
+     * 
+     * @param DS the Register object holding the new data segment value
+     */
+    public void setDS(Register DS) {
+        this.regs.set(RegisterFile.DS, DS.getValue());
+    }
+
+    /**
+     * Retrieves the memory component of the computer.
+     * 
+     * @return the Memory object
+     */
+    public Memory getMem() {
+        return mem;
+    }
+
+    /**
+     * Retrieves the control unit component of the computer.
+     * 
+     * @return the ControlUnit object
+     */
+    public ControlUnit getCu() {
+        return cu;
+    }
+
+    /**
+     * Retrieves the arithmetic logic unit (ALU) component of the computer.
+     * 
+     * @return the ALUnit object
+     */
+    public ALUnit getAlu() {
+        return alu;
+    }
+
+    /**
+     * Retrieves the primitive register file holding every register of the computer.
+     * 
+     * @return the register file
+     */
+    public RegisterFile getRegisterFile() {
+        return regs;
+    }
+
+    /**
+     * Retrieves the general purpose registers array.
+     * 
+     * @return the array of general purpose registers
+     */
+    public Register[] getRegistersPG() {
+        return registersPG;
+    }
+
+    /**
+     * Retrieves the flags registers array.
+     * 
+     * @return the array of flag registers
+     */
+    public Register[] getFlags() {
+        return flags;
+    }
+
+
+    /**
+     * Retrieves the program counter (PC) register.
+     * 
+     * @return the program counter register
+     */
+    public Register getPC() {
+        return PC;
+    }
+
+    /**
+     * Retrieves the instruction register (IR).
+     * 
+     * @return the instruction register
+     */
+    public Register getIR() {
+        return IR;
+    }
+
+    /**
+     * Retrieves the data segment (DS) register.
+     * 
+     * @return the data segment register
+     */
+    public Register getDS() {
+        return DS;
+    }
+
+    /**
+     * Retrieves the high-level instruction list assembled from the loaded program.
+     * 
+     * @return an ArrayList containing the high-level assembly instructions, or null if the program
+     *         was streamed without keeping its source
+     */
+    public ArrayList<String> getHighLevelInstruction() {
+        return highLevelInstruction;
+    }
+    
+    
+    
+    
+}
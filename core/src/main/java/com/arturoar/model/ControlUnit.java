@@ -1,7 +1,6 @@
 package com.arturoar.model;
 
 import com.arturoar.exceptions.CodeSegmentViolatedException;
-import com.arturoar.tools.GFG;
 
 /**
  * Control Unit (CU) for the RISC architecture simulator.
@@ -30,12 +29,11 @@ public class ControlUnit {
     
     /**
      * Initializes the Control Unit with a reference to the computer system.
-     * Creates a new instruction object to store the current decoded instruction.
+     * The current instruction is taken from the computer's predecoded instruction cache on each decode.
      * 
      * @param comp the Computer instance this control unit belongs to
      */
     public ControlUnit(Computer comp) {
-        this.currInstruction = new Instruction();
         this.comp = comp;
     }
     
@@ -46,64 +44,37 @@ public class ControlUnit {
      * This is the first step of the instruction execution cycle.
      */
     public void fetch(){
-        comp.IR.setValueAsInstr(comp.mem.memory[comp.PC.getValue()].getValue());
+        int[] words = comp.regs.words;
+        words[RegisterFile.IR] = comp.mem.read(words[RegisterFile.PC]);
     }
     
     /**
-     * Decode stage: Extracts the operation code (opcode) from the Instruction Register.
-     * The opcode is located in the first 4 bits of the instruction and identifies which operation to perform.
+     * Decode stage: Selects the decoded form of the instruction held in the Instruction Register.
+     * The instruction at the current program counter is taken from the computer's predecoded
+     * instruction cache, so a word is decoded only once no matter how many times it runs.
+     * If the IR does not match the cached word (e.g. it was set externally), the IR is decoded directly.
      * This is the second step of the instruction execution cycle.
      */
     public void decode(){
-        this.currInstruction.setOperation(Integer.parseInt(comp.IR.getBinaryValue().substring(0, 4),2));
+        int[] words = comp.regs.words;
+        int word = words[RegisterFile.IR];
+        Instruction cached = comp.instructionCache.get(words[RegisterFile.PC]);
+        this.currInstruction = cached.getWord() == word ? cached : new Instruction(word);
     }
     
     /**
-     * Operand Search stage: Extracts operand information from the instruction based on its type.
-     * Different instruction formats use different bit ranges:
+     * Operand Search stage: Makes the operands of the current instruction available for execution.
+     * Operand fields are extracted once when the instruction is decoded (see {@link Instruction#Instruction(int)}):
      * - Three-register ops (0-4): destination (bits 4-6), src1 (7-9), src2 (10-12)
      * - Two-register ops (5-8): destination (bits 4-6), src1 (7-9)
      * - Comparison/store (9-10): src1 (7-9), src2 (10-12)
      * - Jump operations (11-13): 8-bit signed offset (bits 8-15)
      * - Load immediate (14): 12-bit signed immediate (bits 4-15)
      * - NOP (15): No operands needed
+     * Nothing is left to do at this stage, so a step allocates no objects and writes no output.
      * This is the third step of the instruction execution cycle.
      */
     public void operandSearch(){
-        if (this.currInstruction.getOperation() < 5){
-            this.currInstruction.setDestRgr(Integer.parseInt(comp.IR.getBinaryValue().substring(4, 7),2));
-            this.currInstruction.setSrcRgr1(Integer.parseInt(comp.IR.getBinaryValue().substring(7, 10),2));
-            this.currInstruction.setSrcRgr2(Integer.parseInt(comp.IR.getBinaryValue().substring(10, 13),2));  
-        } 
-        else if (this.currInstruction.getOperation() < 9){
-            this.currInstruction.setDestRgr(Integer.parseInt(comp.IR.getBinaryValue().substring(4, 7),2));
-            this.currInstruction.setSrcRgr1(Integer.parseInt(comp.IR.getBinaryValue().substring(7, 10),2));
-        }
-        else if (this.currInstruction.getOperation() < 11){
-            this.currInstruction.setSrcRgr1(Integer.parseInt(comp.IR.getBinaryValue().substring(7, 10),2));
-            this.currInstruction.setSrcRgr2(Integer.parseInt(comp.IR.getBinaryValue().substring(10, 13),2));
-        }
-        else if (this.currInstruction.getOperation() < 14){
-            String numStr = comp.IR.getBinaryValue().substring(8, 16);
-            if (numStr.startsWith("1")){
-                numStr = GFG.getTwosComplement(numStr);
-                this.currInstruction.setNum(-1*Integer.parseInt(numStr,2));
-            }
-            else
-                this.currInstruction.setNum(Integer.parseInt(comp.IR.getBinaryValue().substring(8, 16),2));
-        }
-        else if (this.currInstruction.getOperation() == 14){
-            String numStr = comp.IR.getBinaryValue().substring(4, 16);
-            if (numStr.startsWith("1")){
-                numStr = GFG.getTwosComplement(numStr);
-                this.currInstruction.setNum(-1*Integer.parseInt(numStr,2));
-            }
-            else
-                this.currInstruction.setNum(Integer.parseInt(comp.IR.getBinaryValue().substring(4, 16),2));
-        }
-        else{
-            System.out.println("NOP");
-        }
     }
     
     /**
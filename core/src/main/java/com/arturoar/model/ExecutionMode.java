@@ -0,0 +1,25 @@
+package com.arturoar.model;
+
+/**
+ * Execution engines available to run a program loaded into a {@link Computer}.
+ * 
+ * All engines produce exactly the same architectural state (registers, flags, PC, IR and memory);
+ * they differ only in how fast they get there.
+ * 
+ * @author arturoar
+ */
+public enum ExecutionMode {
+    /**
+     * The fetch-decode-operand search-execute cycle of the {@link ControlUnit} and {@link ALUnit},
+     * one instruction per {@link Computer#nextInstruction()} call.
+     */
+    INTERPRETER,
+    /**
+     * Pre-bound instruction handlers dispatched from a tight loop (see {@link ThreadedEngine}).
+     */
+    THREADED,
+    /**
+     * The interpreter, with hot basic blocks compiled to JVM bytecode (see {@link JitEngine}).
+     */
+    JIT
+}
@@ -0,0 +1,241 @@
+
+package com.arturoar.model;
+
+import com.arturoar.tools.BitOps;
+
+/**
+ * Represents a decoded RISC instruction with its operation code and operands.
+ * 
+ * This class stores the components of an instruction after it has been decoded by the Control Unit.
+ * Instances are immutable: they are decoded once from a 16-bit word and can be shared freely,
+ * which lets the {@link InstructionCache} keep one predecoded instruction per memory address.
+ * Each instruction contains:
+ * - operation: The opcode (0-15) identifying which operation to perform
+ * - destRgr: Destination register index (for operations that store results)
+ * - srcRgr1: First source register index
+ * - srcRgr2: Second source register index (for operations with two source operands)
+ * - num: Immediate value or offset (for jumps and load immediate operations)
+ * 
+ * @author arturoar
+ */
+public class Instruction {
+    
+    /**
+     * Width of a register field in bits.
+     */
+    private static final int REGISTER_WIDTH = 3;
+    /**
+     * Width of the opcode in bits.
+     */
+    private static final int OPCODE_WIDTH = 4;
+    /**
+     * Width of the signed jump offset in bits (bits 8-15).
+     */
+    private static final int OFFSET_WIDTH = 8;
+    /**
+     * Width of the signed load immediate in bits (bits 4-15).
+     */
+    private static final int IMMEDIATE_WIDTH = 12;
+    /**
+     * Bit position of the opcode (bits 0-3 of the 16-bit word, counting from the left).
+     */
+    private static final int OPCODE_SHIFT = 12;
+    /**
+     * Bit position of the destination register field (bits 4-6).
+     */
+    private static final int DEST_SHIFT = 9;
+    /**
+     * Bit position of the first source register field (bits 7-9).
+     */
+    private static final int SRC1_SHIFT = 6;
+    /**
+     * Bit position of the second source register field (bits 10-12).
+     */
+    private static final int SRC2_SHIFT = 3;
+    
+    /**
+     * Operation code (opcode): identifies which ALU operation to perform (0-15).
+     * 0-4: Arithmetic operations (ADD, SUB, AND, OR, XOR)
+     * 5-8: Logical/Memory operations (NOT, SHIFTL, SHIFTR, LOAD)
+     * 9-10: Comparison and Store (CMP, STORE)
+     * 11-15: Control flow and special (JUMP, JZ, JNZ, LOAD12BIT, NOP)
+     */
+    private final int operation;
+    /**
+     * Destination register index (0-7).
+     * Specifies which general purpose register stores the result of the operation.
+     * Not used for comparison, store, or jump operations.
+     */
+    private final int destRgr;
+    /**
+     * First source register index (0-7).
+     * Specifies the first operand register for operations that require it.
+     * For unary operations (NOT), this is the only source operand.
+     */
+    private final int srcRgr1;
+    /**
+     * Second source register index (0-7).
+     * Specifies the second operand register for binary operations.
+     * Not used for unary operations, load, or jump operations.
+     */
+    private final int srcRgr2;
+    /**
+     * Immediate value or offset.
+     * Used for:
+     * - Jump instructions: signed offset to add to program counter
+     * - Load immediate (LOAD12BIT): 12-bit constant value to load into register
+     * - Unused for register-to-register operations
+     */
+    private final int num;
+    /**
+     * The raw 16-bit word this instruction was decoded from.
+     */
+    private final int word;
+
+    /**
+     * Decodes a 16-bit instruction word into its operation code and operands.
+     * Only the fields used by the instruction format of the opcode are extracted:
+     * - Three-register ops (0-4): destination, src1, src2
+     * - Two-register ops (5-8): destination, src1
+     * - Comparison/store (9-10): src1, src2
+     * - Jump operations (11-13): 8-bit signed offset
+     * - Load immediate (14): 12-bit signed immediate
+     * Unused fields are left at 0.
+     * 
+     * @param word the raw instruction word
+     */
+    public Instruction(int word) {
+        int op = opcodeOf(word);
+        this.word = word;
+        this.operation = op;
+        this.destRgr = op < 9 ? destRgrOf(word) : 0;
+        this.srcRgr1 = op < 11 ? srcRgr1Of(word) : 0;
+        this.srcRgr2 = op < 5 || op == 9 || op == 10 ? srcRgr2Of(word) : 0;
+        if (op >= 11 && op < 14){
+            this.num = offsetOf(word);
+        }
+        else if (op == 14){
+            this.num = immediateOf(word);
+        }
+        else{
+            this.num = 0;
+        }
+    }
+
+    /**
+     * Retrieves the operation code of this instruction.
+     * 
+     * @return the opcode (0-15)
+     */
+    public int getOperation() {
+        return operation;
+    }
+
+    /**
+     * Retrieves the destination register index.
+     * 
+     * @return the destination register index (0-7)
+     */
+    public int getDestRgr() {
+        return destRgr;
+    }
+
+    /**
+     * Retrieves the first source register index.
+     * 
+     * @return the first source register index (0-7)
+     */
+    public int getSrcRgr1() {
+        return srcRgr1;
+    }
+
+    /**
+     * Retrieves the second source register index.
+     * 
+     * @return the second source register index (0-7)
+     */
+    public int getSrcRgr2() {
+        return srcRgr2;
+    }
+
+    /**
+     * Retrieves the immediate value or offset.
+     * 
+     * @return the immediate value (for LOAD12BIT) or signed offset (for jump operations)
+     */
+    public int getNum() {
+        return num;
+    }
+
+    /**
+     * Retrieves the raw instruction word this instruction was decoded from.
+     * 
+     * @return the 16-bit instruction word
+     */
+    public int getWord() {
+        return word;
+    }
+
+    /**
+     * Extracts the operation code from a 16-bit instruction word (bits 0-3).
+     * 
+     * @param word the raw instruction word
+     * @return the opcode (0-15)
+     */
+    public static int opcodeOf(int word) {
+        return BitOps.field(word, OPCODE_SHIFT, OPCODE_WIDTH);
+    }
+
+    /**
+     * Extracts the destination register index from an instruction word (bits 4-6).
+     * 
+     * @param word the raw instruction word
+     * @return the destination register index (0-7)
+     */
+    public static int destRgrOf(int word) {
+        return BitOps.field(word, DEST_SHIFT, REGISTER_WIDTH);
+    }
+
+    /**
+     * Extracts the first source register index from an instruction word (bits 7-9).
+     * 
+     * @param word the raw instruction word
+     * @return the first source register index (0-7)
+     */
+    public static int srcRgr1Of(int word) {
+        return BitOps.field(word, SRC1_SHIFT, REGISTER_WIDTH);
+    }
+
+    /**
+     * Extracts the second source register index from an instruction word (bits 10-12).
+     * 
+     * @param word the raw instruction word
+     * @return the second source register index (0-7)
+     */
+    public static int srcRgr2Of(int word) {
+        return BitOps.field(word, SRC2_SHIFT, REGISTER_WIDTH);
+    }
+
+    /**
+     * Extracts the sign-extended 8-bit jump offset from an instruction word (bits 8-15).
+     * 
+     * @param word the raw instruction word
+     * @return the signed offset (-128 to 127)
+     */
+    public static int offsetOf(int word) {
+        return BitOps.signedField(word, 0, OFFSET_WIDTH);
+    }
+
+    /**
+     * Extracts the sign-extended 12-bit immediate from an instruction word (bits 4-15).
+     * 
+     * @param word the raw instruction word
+     * @return the signed immediate (-2048 to 2047)
+     */
+    public static int immediateOf(int word) {
+        return BitOps.signedField(word, 0, IMMEDIATE_WIDTH);
+    }
+
+    
+    
+}
@@ -0,0 +1,89 @@
+package com.arturoar.model;
+
+import java.util.Arrays;
+
+/**
+ * Table of predecoded instructions indexed by memory address.
+ * 
+ * When a program is loaded, every word of the code segment is decoded once into an immutable
+ * {@link Instruction}. The Control Unit then looks instructions up by program counter instead of
+ * decoding the Instruction Register on every cycle, so loop bodies are decoded only once no matter
+ * how many times they run.
+ * 
+ * Addresses outside the code segment are decoded lazily the first time they are executed; the table
+ * only grows to cover the addresses actually executed, so its size follows the code segment
+ * rather than the whole address space.
+ * An entry is discarded when the memory cell it was decoded from is written by a STORE
+ * (see {@link #invalidate(int)}), and is decoded again from memory on its next use.
+ * 
+ * @author arturoar
+ */
+public class InstructionCache {
+
+    /**
+     * Memory the instructions are decoded from.
+     */
+    private final Memory mem;
+    /**
+     * Decoded instruction per memory address, or null if the address has not been decoded yet.
+     */
+    private Instruction[] decoded;
+
+    /**
+     * Initializes an empty cache covering every address of the given memory.
+     * 
+     * @param mem the memory whose contents will be decoded
+     */
+    public InstructionCache(Memory mem) {
+        this.mem = mem;
+        this.decoded = new Instruction[0];
+    }
+
+    /**
+     * Predecodes the code segment of a freshly loaded program.
+     * Any previously cached entry is discarded.
+     * 
+     * @param codeSize number of instruction words starting at address 0
+     */
+    public void load(int codeSize) {
+        this.decoded = new Instruction[codeSize];
+        for (int i = 0; i < codeSize; i++){
+            this.decoded[i] = new Instruction(this.mem.read(i));
+        }
+    }
+
+    /**
+     * Retrieves the decoded instruction stored at the given address,
+     * decoding it from memory if it is not cached yet.
+     * 
+     * @param address the memory address of the instruction
+     * @return the decoded instruction
+     */
+    public Instruction get(int address) {
+        if (address >= this.decoded.length){
+            if (address >= this.mem.getMemorySize()){
+                throw new ArrayIndexOutOfBoundsException(address);
+            }
+            this.decoded = Arrays.copyOf(this.decoded, Math.min(Math.max(address + 1, 2 * this.decoded.length), this.mem.getMemorySize()));
+        }
+        Instruction instruction = this.decoded[address];
+        if (instruction == null){
+            instruction = new Instruction(this.mem.read(address));
+            this.decoded[address] = instruction;
+        }
+        return instruction;
+    }
+
+    /**
+     * Discards the decoded instruction at the given address after its memory cell has been written.
+     * Addresses that were never decoded are left untouched.
+     * 
+     * @param address the memory address that was written
+     */
+    public void invalidate(int address) {
+        if (address < this.decoded.length && this.decoded[address] != null){
+            this.decoded[address] = null;
+        }
+    }
+
+}
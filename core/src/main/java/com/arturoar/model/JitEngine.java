@@ -0,0 +1,231 @@
+package com.arturoar.model;
+
+import com.arturoar.exceptions.CodeSegmentViolatedException;
+
+/**
+ * Tiered execution engine that compiles hot basic blocks to JVM bytecode.
+ * 
+ * When a program is loaded, the code segment is split into basic blocks: a block starts at
+ * address 0, at every JUMP/JZ/JNZ target and right after every branch, and ends with a branch or
+ * just before the next block. Blocks are run by the interpreter tier
+ * ({@link Computer#nextInstruction()}, i.e. the {@link ControlUnit} and {@link ALUnit}) while the
+ * engine counts how many times each one is entered. Once a block has been entered
+ * {@value #HOT_THRESHOLD} times it is compiled by the {@link BlockCompiler}, and from then on it
+ * runs as bytecode on a primitive register file. Consecutive compiled blocks are chained without
+ * going back to the interpreter.
+ * 
+ * A STORE into the code segment discards every block containing the written address; those
+ * instructions go back to the interpreter tier until their block becomes hot again.
+ * 
+ * @author arturoar
+ */
+public final class JitEngine {
+
+    /**
+     * Number of times a block must be entered before it is compiled.
+     */
+    public static final int HOT_THRESHOLD = 100;
+    /**
+     * Maximum number of instructions in one compiled block.
+     */
+    private static final int MAX_BLOCK_LENGTH = 256;
+
+    private final Computer comp;
+    /**
+     * Block starting at each address of the code segment, or null if no block starts there.
+     */
+    private Block[] blocks;
+    /**
+     * Highest value the program counter can take (the saturation bound of the PC register).
+     */
+    private int pcLimit;
+    /**
+     * Size of the code segment the blocks were built for.
+     */
+    private int ds;
+
+    /**
+     * Initializes the engine for the given computer and splits its code segment into basic blocks.
+     * 
+     * @param comp the Computer instance this engine executes
+     */
+    public JitEngine(Computer comp) {
+        this.comp = comp;
+        reset();
+    }
+
+    /**
+     * Discards every block and compiled class, and splits the code segment again,
+     * e.g. after a new program has been loaded.
+     */
+    public void reset() {
+        this.ds = comp.regs.get(RegisterFile.DS);
+        this.pcLimit = comp.regs.getPcLimit();
+        this.blocks = new Block[this.ds];
+        findBlocks();
+    }
+
+    /**
+     * Discards the blocks containing an address of the code segment after its memory cell has been written.
+     * 
+     * @param address the memory address that was written
+     */
+    public void invalidate(int address) {
+        if (address >= this.ds){
+            return;
+        }
+        for (int i = 0; i < this.ds; i++){
+            Block block = this.blocks[i];
+            if (block != null && address >= block.start && address < block.start + block.length){
+                this.blocks[i] = null;
+            }
+        }
+        findBlocks();
+    }
+
+    /**
+     * Runs the loaded program until the program counter reaches the data segment
+     * or the instruction budget is exhausted.
+     * 
+     * @param maxInstructions the maximum number of instructions to execute
+     * @return the number of instructions executed
+     * @throws CodeSegmentViolatedException if an instruction accesses memory outside its segment;
+     *         the computer is left at the faulting instruction
+     */
+    public long run(long maxInstructions) throws CodeSegmentViolatedException {
+        long executed = 0;
+        int[] words = comp.regs.words;
+        while (executed < maxInstructions && words[RegisterFile.PC] != words[RegisterFile.DS]){
+            int pc = words[RegisterFile.PC];
+            Block block = pc < this.ds ? this.blocks[pc] : null;
+            if (block != null && block.code == null && ++block.hits >= HOT_THRESHOLD){
+                block.code = BlockCompiler.compile(block.start, block.instructions, this.pcLimit, this.ds);
+                block.instructions = null;
+            }
+            if (block != null && block.code != null && block.length <= maxInstructions - executed){
+                executed += runCompiled(block, maxInstructions - executed);
+            }
+            else{
+                comp.nextInstruction();
+                executed++;
+            }
+        }
+        return executed;
+    }
+
+    /**
+     * Runs a chain of compiled blocks directly on the register file,
+     * starting with the given one, until the next block is not compiled or does not fit in the budget.
+     * 
+     * @param block the compiled block at the program counter
+     * @param budget the maximum number of instructions to execute
+     * @return the number of instructions executed
+     * @throws CodeSegmentViolatedException if an instruction faults
+     */
+    private long runCompiled(Block block, long budget) throws CodeSegmentViolatedException {
+        int[] s = comp.regs.words;
+        int pc = block.start;
+        long executed = 0;
+        try {
+            do {
+                pc = block.code.execute(s, comp);
+                executed += block.length;
+                if (pc == this.ds){
+                    break;
+                }
+                block = this.blocks[pc];
+            } while (block != null && block.code != null && block.length <= budget - executed);
+        } catch (CodeSegmentViolatedException ex) {
+            pc = s[RegisterFile.PC];
+            executed += pc - block.start;
+            throw ex;
+        } finally {
+            comp.instructionCount += executed;
+            s[RegisterFile.PC] = pc;
+            s[RegisterFile.IR] = comp.mem.read(pc);
+        }
+        return executed;
+    }
+
+    /**
+     * Creates a block for every block leader of the code segment that does not have one yet.
+     */
+    private void findBlocks() {
+        boolean[] leader = new boolean[this.ds + 1];
+        if (this.ds > 0){
+            leader[0] = true;
+        }
+        for (int i = 0; i < this.ds; i++){
+            Instruction instr = comp.instructionCache.get(i);
+            if (isBranch(instr)){
+                int target = i + instr.getNum();
+                if (target >= 0 && target < this.ds){
+                    leader[target] = true;
+                }
+                leader[i + 1] = true;
+            }
+        }
+        for (int i = 0; i < this.ds; i++){
+            if (leader[i] && this.blocks[i] == null){
+                int length = 0;
+                while (i + length < this.ds && i + length < this.pcLimit && length < MAX_BLOCK_LENGTH
+                        && (length == 0 || !leader[i + length])){
+                    length++;
+                    if (isBranch(comp.instructionCache.get(i + length - 1))){
+                        break;
+                    }
+                }
+                if (length > 0){
+                    Instruction[] instructions = new Instruction[length];
+                    for (int j = 0; j < length; j++){
+                        instructions[j] = comp.instructionCache.get(i + j);
+                    }
+                    this.blocks[i] = new Block(i, instructions);
+                }
+            }
+        }
+    }
+
+    private static boolean isBranch(Instruction instr) {
+        return instr.getOperation() >= 11 && instr.getOperation() <= 13;
+    }
+
+    /**
+     * LOAD as called from compiled blocks.
+     */
+    static void load(int[] s, Computer comp, int d, int a) throws CodeSegmentViolatedException {
+        MicroOps.load(s, comp.mem, d, a);
+    }
+
+    /**
+     * STORE as called from compiled blocks; notifies the computer of the written address.
+     */
+    static void store(int[] s, Computer comp, int a, int b) throws CodeSegmentViolatedException {
+        comp.memoryWritten(MicroOps.store(s, comp.mem, a, b));
+    }
+
+    /**
+     * Jump outside the code segment, as called from compiled blocks.
+     */
+    static int fault() throws CodeSegmentViolatedException {
+        throw new CodeSegmentViolatedException();
+    }
+
+    /**
+     * A basic block with its execution count and, once hot, its compiled form.
+     */
+    private static final class Block {
+        private final int start;
+        private final int length;
+        private Instruction[] instructions;
+        private int hits;
+        private CompiledBlock code;
+
+        Block(int start, Instruction[] instructions) {
+            this.start = start;
+            this.length = instructions.length;
+            this.instructions = instructions;
+        }
+    }
+
+}
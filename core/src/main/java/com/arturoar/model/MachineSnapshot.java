@@ -0,0 +1,213 @@
+package com.arturoar.model;
+
+import java.util.ArrayList;
+
+/**
+ * Immutable copy of the visible state of a {@link Computer} at one point of its execution.
+ * 
+ * A snapshot owns a copy of the register file, so it can be read from any thread (typically the
+ * user interface) while the computer it was taken from keeps running on another one.
+ * Its registers are exposed as read-only {@link Register} views over the copy, which format their
+ * values exactly like the live registers of the computer. Its {@link ChangeSet} tells what changed
+ * since the previous snapshot of the same computer, so a display can refresh only that.
+ * 
+ * Memory is not copied for every snapshot, which would cost time proportional to the size of memory
+ * on every frame. Only a snapshot with a full change set owns a copy of the memory; the others carry the
+ * words written since the previous snapshot. A display keeps its own mirror of the memory and brings it
+ * up to date with {@link #updateMirror(Memory)}, applying every snapshot of the computer in order.
+ * 
+ * @author arturoar
+ */
+public final class MachineSnapshot {
+
+    private final RegisterFile regs;
+    private final Memory mem;
+    private final Register[] registersPG;
+    private final Register[] flags;
+    private final Register PC;
+    private final Register IR;
+    private final Register DS;
+    private final ArrayList<String> highLevelInstruction;
+    private final long instructionCount;
+    private final ChangeSet changes;
+
+    /**
+     * Initializes a snapshot over copies taken by {@link Computer#snapshot()}.
+     * 
+     * @param regs the copy of the register file, owned by the snapshot
+     * @param mem the copy of the memory, owned by the snapshot, for a full change set; null otherwise
+     * @param highLevelInstruction the source lines of the loaded program, or null
+     * @param instructionCount the number of instructions executed
+     * @param changes the changes since the previous snapshot
+     */
+    MachineSnapshot(RegisterFile regs, Memory mem, ArrayList<String> highLevelInstruction, long instructionCount,
+            ChangeSet changes) {
+        int addressBusWidth = regs.getAddressWidth();
+        this.regs = regs;
+        this.mem = mem;
+        this.registersPG = new Register[RegisterFile.GENERAL_PURPOSE];
+        for (int i = 0; i < RegisterFile.GENERAL_PURPOSE; i++){
+            this.registersPG[i] = regs.view(i, 16);
+        }
+        this.flags = new Register[4];
+        for (int i = 0; i < 4; i++){
+            this.flags[i] = regs.flagView(i);
+        }
+        this.PC = regs.view(RegisterFile.PC, addressBusWidth);
+        this.IR = regs.view(RegisterFile.IR, 16);
+        this.DS = regs.view(RegisterFile.DS, addressBusWidth);
+        this.highLevelInstruction = highLevelInstruction;
+        this.instructionCount = instructionCount;
+        this.changes = changes;
+    }
+
+    /**
+     * Creates the same snapshot, with its changes extended to those of the snapshot taken right before it.
+     * Used when the earlier snapshot is superseded before anyone reads it: if only the earlier one owns a
+     * copy of the memory, the words written since are applied to that copy, which this snapshot takes over.
+     * 
+     * @param earlier the previous snapshot of the same computer
+     * @return the snapshot with the changes of both
+     */
+    MachineSnapshot after(MachineSnapshot earlier) {
+        Memory merged = this.mem;
+        if (merged == null && earlier.mem != null){
+            merged = earlier.mem;
+            apply(merged, this.changes);
+        }
+        return new MachineSnapshot(this.regs, merged, this.highLevelInstruction, this.instructionCount,
+                this.changes.after(earlier.changes));
+    }
+
+    /**
+     * Retrieves the copied memory. It must not be modified.
+     * 
+     * @return the memory, or null unless the change set is {@linkplain ChangeSet#isFull() full}
+     */
+    public Memory getMem() {
+        return mem;
+    }
+
+    /**
+     * Brings a display's copy of the memory up to the state of this snapshot.
+     * With a full change set the mirror is replaced by a new copy of the memory of the snapshot;
+     * otherwise the words written since the previous snapshot are stored into it.
+     * 
+     * @param mirror the copy holding the memory of the previous snapshot of the same computer,
+     *        or null if there was none (the change set is then full)
+     * @return the up-to-date mirror: the same memory, or a new copy after a full change
+     * @throws IllegalStateException if the mirror is null and the change set is not full
+     */
+    public Memory updateMirror(Memory mirror) {
+        if (this.mem != null){
+            return this.mem.copy();
+        }
+        if (mirror == null){
+            throw new IllegalStateException("No memory to update: the previous snapshots were not applied");
+        }
+        apply(mirror, this.changes);
+        return mirror;
+    }
+
+    /**
+     * Stores the written words of a change set into a memory.
+     */
+    private static void apply(Memory memory, ChangeSet changes) {
+        int[] addresses = changes.getAddresses();
+        int[] words = changes.getWords();
+        for (int i = 0; i < addresses.length; i++){
+            memory.write(addresses[i], words[i]);
+        }
+    }
+
+    /**
+     * Retrieves the copied register file. It must not be modified.
+     * 
+     * @return the register file
+     */
+    public RegisterFile getRegisterFile() {
+        return regs;
+    }
+
+    /**
+     * Retrieves the general purpose registers.
+     * 
+     * @return the array of general purpose registers
+     */
+    public Register[] getRegistersPG() {
+        return registersPG;
+    }
+
+    /**
+     * Retrieves the flag registers (0: carry, 1: overflow, 2: zero, 3: sign).
+     * 
+     * @return the array of flag registers
+     */
+    public Register[] getFlags() {
+        return flags;
+    }
+
+    /**
+     * Retrieves the program counter (PC) register.
+     * 
+     * @return the program counter register
+     */
+    public Register getPC() {
+        return PC;
+    }
+
+    /**
+     * Retrieves the instruction register (IR).
+     * 
+     * @return the instruction register
+     */
+    public Register getIR() {
+        return IR;
+    }
+
+    /**
+     * Retrieves the data segment (DS) register.
+     * 
+     * @return the data segment register
+     */
+    public Register getDS() {
+        return DS;
+    }
+
+    /**
+     * Retrieves the source lines of the loaded program.
+     * 
+     * @return the high-level instructions, or null if the program was loaded without its source
+     */
+    public ArrayList<String> getHighLevelInstruction() {
+        return highLevelInstruction;
+    }
+
+    /**
+     * Retrieves the number of instructions the computer had executed when the snapshot was taken.
+     * 
+     * @return the number of instructions executed
+     */
+    public long getInstructionCount() {
+        return instructionCount;
+    }
+
+    /**
+     * Retrieves what changed since the previous snapshot of the computer.
+     * 
+     * @return the change set; full if change tracking is disabled
+     */
+    public ChangeSet getChanges() {
+        return changes;
+    }
+
+    /**
+     * Checks whether the program had finished: the program counter had reached the data segment.
+     * 
+     * @return true if the program had halted
+     */
+    public boolean isHalted() {
+        return regs.get(RegisterFile.PC) == regs.get(RegisterFile.DS);
+    }
+
+}
@@ -0,0 +1,246 @@
+package com.arturoar.model;
+
+import java.util.Arrays;
+
+/**
+ * Memory management system for the RISC architecture simulator.
+ * 
+ * This class represents the computer's main memory, consisting of addressable storage cells.
+ * Each memory cell is a 16-bit word that can store instruction or data values.
+ * 
+ * Memory capacity is determined by the address bus width:
+ * - Address bus width determines the number of addressable locations
+ * - Memory size = 2^(address bus width)
+ * - For example: 8-bit address bus = 256 memory locations
+ * 
+ * The cells are stored in a single {@code short[]} rather than one object per cell, so wide
+ * address buses (up to {@value #MAX_ADDRESS_BUS_WIDTH} bits) stay cheap. Words are read back
+ * as unsigned values in the range [0, 65535]. {@link PagedMemory} is a sparse variant that only
+ * allocates the pages a program actually writes.
+ * 
+ * The memory is addressed by the program counter (PC) during instruction fetching
+ * and by the load/store instructions during data access.
+ * 
+ * @author arturoar
+ */
+public class Memory {
+
+    /**
+     * Widest address bus supported (16M words).
+     */
+    public static final int MAX_ADDRESS_BUS_WIDTH = 24;
+
+    /**
+     * Address bus width in bits. Determines the maximum number of addressable memory locations.
+     * Memory size = 2^ADRESS_BUS_SIZE
+     */
+    private final int ADRESS_BUS_SIZE;
+    /**
+     * Total number of memory locations (bytes/cells) available.
+     * Calculated as 2^ADRESS_BUS_SIZE.
+     */
+    private final int memorySize;
+    /**
+     * 16-bit words representing individual memory cells.
+     * Each cell can store instruction or data values.
+     */
+    private final short[] cells;
+
+    /**
+     * Initializes the memory system with specified address bus width.
+     * 
+     * Allocates memory cells based on the address bus width:
+     * - Total cells = 2^addressBusWidth
+     * - Each cell is a 16-bit word for storing instructions or data, initially 0
+     * 
+     * @param addressBusWidth the width of the address bus in bits (determines memory size)
+     * @throws IllegalArgumentException if the width is not between 1 and {@value #MAX_ADDRESS_BUS_WIDTH}
+     */
+    public Memory(int addressBusWidth) {
+        this(addressBusWidth, true);
+    }
+
+    /**
+     * Initializes the memory geometry for a subclass that provides its own storage.
+     * 
+     * @param addressBusWidth the width of the address bus in bits (determines memory size)
+     * @param allocateCells whether to allocate the flat array of cells
+     * @throws IllegalArgumentException if the width is not between 1 and {@value #MAX_ADDRESS_BUS_WIDTH}
+     */
+    protected Memory(int addressBusWidth, boolean allocateCells) {
+        if (addressBusWidth < 1 || addressBusWidth > MAX_ADDRESS_BUS_WIDTH){
+            throw new IllegalArgumentException("Address bus width must be between 1 and "
+                    + MAX_ADDRESS_BUS_WIDTH + ": " + addressBusWidth);
+        }
+        this.ADRESS_BUS_SIZE = addressBusWidth;
+        this.memorySize = 1 << addressBusWidth;
+        this.cells = allocateCells ? new short[this.memorySize] : null;
+    }
+
+    /**
+     * Retrieves the total number of memory locations available.
+     * 
+     * @return the memory size (2^ADRESS_BUS_SIZE)
+     */
+    public int getMemorySize() {
+        return memorySize;
+    }
+
+    /**
+     * Retrieves the width of the address bus.
+     * 
+     * @return the address bus width in bits
+     */
+    public int getAddressBusWidth() {
+        return ADRESS_BUS_SIZE;
+    }
+
+    /**
+     * Checks whether an address lies in the data segment, i.e. between the end of the code
+     * segment and the end of memory. LOAD and STORE may only access such addresses.
+     * 
+     * @param address the address to check
+     * @param dataSegment the first address of the data segment (the DS register)
+     * @return true if {@code dataSegment <= address < memorySize}
+     */
+    public boolean isDataAddress(int address, int dataSegment) {
+        return address >= dataSegment && address < this.memorySize;
+    }
+
+    /**
+     * Reads the word stored at an address.
+     * 
+     * @param address the memory address
+     * @return the unsigned 16-bit word
+     */
+    public int read(int address) {
+        return this.cells[address] & 0xFFFF;
+    }
+
+    /**
+     * Writes a word to an address. Only the low 16 bits of the value are kept.
+     * 
+     * @param address the memory address
+     * @param value the word to store
+     */
+    public void write(int address, int value) {
+        this.cells[address] = (short) value;
+    }
+
+    /**
+     * Copies consecutive words into memory.
+     * 
+     * @param address the first memory address written
+     * @param words the source words
+     * @param offset the index of the first source word
+     * @param length the number of words to copy
+     */
+    public void write(int address, short[] words, int offset, int length) {
+        System.arraycopy(words, offset, this.cells, address, length);
+    }
+
+    /**
+     * Copies consecutive words out of memory.
+     * 
+     * @param address the first memory address read
+     * @param words the destination array
+     * @param offset the index of the first destination word
+     * @param length the number of words to copy
+     */
+    public void read(int address, short[] words, int offset, int length) {
+        System.arraycopy(this.cells, address, words, offset, length);
+    }
+
+    /**
+     * Fills a range of addresses with the same word.
+     * 
+     * @param from the first address filled (inclusive)
+     * @param to the last address filled (exclusive)
+     * @param value the word to store
+     */
+    public void fill(int from, int to, int value) {
+        Arrays.fill(this.cells, from, to, (short) value);
+    }
+
+    /**
+     * Replaces the contents of this memory with the contents of another memory of the same size.
+     * 
+     * @param other the memory to copy
+     * @throws IllegalArgumentException if the memories do not have the same size
+     */
+    public void copyFrom(Memory other) {
+        checkSameSize(other);
+        other.read(0, this.cells, 0, this.memorySize);
+    }
+
+    /**
+     * Creates an independent memory of the same kind and size holding the same words.
+     * 
+     * @return the copy
+     */
+    public Memory copy() {
+        Memory copy = new Memory(this.ADRESS_BUS_SIZE);
+        System.arraycopy(this.cells, 0, copy.cells, 0, this.memorySize);
+        return copy;
+    }
+
+    /**
+     * Checks whether an address is backed by allocated storage.
+     * A flat memory backs every address; a sparse memory only the pages that have been written.
+     * 
+     * @param address the memory address
+     * @return true if the word at the address is stored rather than implicitly 0
+     */
+    public boolean isResident(int address) {
+        return address >= 0 && address < this.memorySize;
+    }
+
+    /**
+     * Ensures another memory has the same size as this one.
+     * 
+     * @param other the memory to compare with
+     * @throws IllegalArgumentException if the memories do not have the same size
+     */
+    protected void checkSameSize(Memory other) {
+        if (other.memorySize != this.memorySize){
+            throw new IllegalArgumentException("Memory sizes differ: " + other.memorySize + " != " + this.memorySize);
+        }
+    }
+
+    /**
+     * Creates a 16-bit register view over one memory cell, for code that displays
+     * memory contents as registers such as the user interface.
+     * The view reads and writes the cell directly.
+     * 
+     * @param address the memory address
+     * @return a register backed by the cell
+     */
+    public Register getCell(int address) {
+        return new Cell(this, address);
+    }
+
+    /**
+     * 16-bit register backed by a memory cell.
+     */
+    private static final class Cell extends Register {
+        private final Memory mem;
+        private final int address;
+
+        Cell(Memory mem, int address) {
+            super(16);
+            this.mem = mem;
+            this.address = address;
+        }
+
+        @Override
+        public int getValue() {
+            return mem.read(address);
+        }
+
+        @Override
+        public void setValueAsInstr(int value) {
+            mem.write(address, value);
+        }
+    }
+
+}
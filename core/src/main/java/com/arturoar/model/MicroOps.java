@@ -0,0 +1,123 @@
+package com.arturoar.model;
+
+import com.arturoar.exceptions.CodeSegmentViolatedException;
+import com.arturoar.tools.BitOps;
+
+/**
+ * Primitive implementation of the datapath semantics shared by the fast execution engines.
+ * 
+ * The fast engines work directly on the slots of the computer's {@link RegisterFile}
+ * instead of {@link Register} objects; every helper takes those slots as its state array.
+ * 
+ * Every helper reproduces the behavior of the corresponding {@link ALUnit} operation bit for bit,
+ * including the saturating writes of {@link Register#setValue(int)} for 16-bit registers.
+ * Program counter updates are left to the engines, which know the address of each instruction
+ * ahead of time.
+ * 
+ * @author arturoar
+ */
+final class MicroOps {
+
+    /**
+     * Width of the general purpose registers and memory words in bits.
+     */
+    private static final int WORD_WIDTH = 16;
+
+    private MicroOps() {
+    }
+
+    /**
+     * Applies the saturation of {@link Register#setValue(int)} for a 16-bit register.
+     * 
+     * @param value the value being written
+     * @return the value the register ends up holding
+     */
+    static int saturate(int value) {
+        return BitOps.saturate(value, WORD_WIDTH);
+    }
+
+    /**
+     * Saturates the result of an arithmetic operation (ADD, SUB, CMP) and records its condition codes.
+     * Carry and overflow are set when the result saturates; zero and sign follow the stored value.
+     * 
+     * @param s the state array
+     * @param raw the unbounded result of the operation
+     * @return the saturated result
+     */
+    static int arith(int[] s, int raw) {
+        int res = saturate(raw);
+        RegisterFile.deferArith(s, raw, res);
+        return res;
+    }
+
+    /**
+     * Records the sign and zero flags after OR, XOR or NOT. Carry and overflow are preserved.
+     * 
+     * @param s the state array
+     * @param res the result of the operation
+     * @return the result, unchanged
+     */
+    static int logic(int[] s, int res) {
+        RegisterFile.deferLogic(s, res);
+        return res;
+    }
+
+    /**
+     * Records the flags after AND: sign and zero follow the result, carry and overflow are cleared.
+     * 
+     * @param s the state array
+     * @param res the result of the operation
+     * @return the result, unchanged
+     */
+    static int logicClear(int[] s, int res) {
+        RegisterFile.deferArith(s, 0, res);
+        return res;
+    }
+
+    /**
+     * Reads the zero flag, as tested by JZ and JNZ.
+     * 
+     * @param s the state array
+     * @return true if the zero flag is set
+     */
+    static boolean isZero(int[] s) {
+        return RegisterFile.zero(s);
+    }
+
+    /**
+     * Loads the memory cell addressed by register {@code a} into register {@code d}.
+     * 
+     * @param s the state array
+     * @param mem the computer's memory
+     * @param d the destination register index
+     * @param a the index of the register holding the address
+     * @throws CodeSegmentViolatedException if the address is outside the data segment
+     */
+    static void load(int[] s, Memory mem, int d, int a) throws CodeSegmentViolatedException {
+        int address = s[a];
+        if (!mem.isDataAddress(address, s[RegisterFile.DS])){
+            throw new CodeSegmentViolatedException();
+        }
+        s[d] = saturate(mem.read(address));
+    }
+
+    /**
+     * Stores register {@code b} into the memory cell addressed by register {@code a}.
+     * 
+     * @param s the state array
+     * @param mem the computer's memory
+     * @param a the index of the register holding the address
+     * @param b the index of the register holding the value
+     * @return the address that was written
+     * @throws CodeSegmentViolatedException if the address is outside the data segment
+     */
+    static int store(int[] s, Memory mem, int a, int b) throws CodeSegmentViolatedException {
+        int address = s[a];
+        if (!mem.isDataAddress(address, s[RegisterFile.DS])){
+            throw new CodeSegmentViolatedException();
+        }
+        mem.write(address, saturate(s[b]));
+        return address;
+    }
+
+}
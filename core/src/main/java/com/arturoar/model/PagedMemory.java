@@ -0,0 +1,227 @@
+package com.arturoar.model;
+
+import java.util.Arrays;
+
+/**
+ * Sparse memory for large address spaces.
+ * 
+ * The address space is split into fixed-size pages that are only allocated when a non-zero word
+ * is first written to them; reading an untouched page returns 0. Memory use is therefore
+ * proportional to the pages a program actually writes (its code segment and working data set)
+ * rather than to 2^(address bus width), which matters when many computers run at once.
+ * 
+ * The visible behavior is identical to {@link Memory}: same size, same bounds, same 16-bit words.
+ * 
+ * @author arturoar
+ */
+public class PagedMemory extends Memory {
+
+    /**
+     * Default page size in address bits (1024 words per page).
+     */
+    public static final int DEFAULT_PAGE_BITS = 10;
+
+    /**
+     * Number of address bits selecting a word within a page.
+     */
+    private final int pageBits;
+    /**
+     * Mask extracting the offset within a page from an address.
+     */
+    private final int pageMask;
+    /**
+     * Page table; null entries are untouched pages that read as 0.
+     */
+    private final short[][] pages;
+    /**
+     * Number of allocated pages.
+     */
+    private int residentPages;
+
+    /**
+     * Initializes an empty sparse memory with {@value #DEFAULT_PAGE_BITS}-bit pages.
+     * 
+     * @param addressBusWidth the width of the address bus in bits (determines memory size)
+     * @throws IllegalArgumentException if the width is not between 1 and {@value Memory#MAX_ADDRESS_BUS_WIDTH}
+     */
+    public PagedMemory(int addressBusWidth) {
+        this(addressBusWidth, DEFAULT_PAGE_BITS);
+    }
+
+    /**
+     * Initializes an empty sparse memory with the given page size.
+     * Pages larger than the whole memory are reduced to the memory size.
+     * 
+     * @param addressBusWidth the width of the address bus in bits (determines memory size)
+     * @param pageBits the page size in address bits (a page holds 2^pageBits words)
+     * @throws IllegalArgumentException if the width is out of range or the page size is not positive
+     */
+    public PagedMemory(int addressBusWidth, int pageBits) {
+        super(addressBusWidth, false);
+        if (pageBits < 1){
+            throw new IllegalArgumentException("Page size must be at least 1 bit: " + pageBits);
+        }
+        this.pageBits = Math.min(pageBits, addressBusWidth);
+        this.pageMask = (1 << this.pageBits) - 1;
+        this.pages = new short[getMemorySize() >>> this.pageBits][];
+    }
+
+    /**
+     * Retrieves the number of words held by one page.
+     * 
+     * @return the page size in words
+     */
+    public int getPageSize() {
+        return 1 << this.pageBits;
+    }
+
+    /**
+     * Retrieves the number of pages that have been allocated.
+     * 
+     * @return the resident page count
+     */
+    public int getResidentPageCount() {
+        return this.residentPages;
+    }
+
+    /**
+     * Retrieves the total number of pages of the address space.
+     * 
+     * @return the page count
+     */
+    public int getPageCount() {
+        return this.pages.length;
+    }
+
+    @Override
+    public int read(int address) {
+        short[] page = this.pages[address >>> this.pageBits];
+        return page == null ? 0 : page[address & this.pageMask] & 0xFFFF;
+    }
+
+    @Override
+    public void write(int address, int value) {
+        int index = address >>> this.pageBits;
+        short[] page = this.pages[index];
+        if (page == null){
+            if ((short) value == 0){
+                return;
+            }
+            page = allocate(index);
+        }
+        page[address & this.pageMask] = (short) value;
+    }
+
+    @Override
+    public void write(int address, short[] words, int offset, int length) {
+        while (length > 0){
+            int index = address >>> this.pageBits;
+            int start = address & this.pageMask;
+            int chunk = Math.min(length, getPageSize() - start);
+            short[] page = this.pages[index];
+            if (page == null && !isZero(words, offset, chunk)){
+                page = allocate(index);
+            }
+            if (page != null){
+                System.arraycopy(words, offset, page, start, chunk);
+            }
+            address += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    @Override
+    public void read(int address, short[] words, int offset, int length) {
+        while (length > 0){
+            int start = address & this.pageMask;
+            int chunk = Math.min(length, getPageSize() - start);
+            short[] page = this.pages[address >>> this.pageBits];
+            if (page == null){
+                Arrays.fill(words, offset, offset + chunk, (short) 0);
+            }
+            else{
+                System.arraycopy(page, start, words, offset, chunk);
+            }
+            address += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    @Override
+    public void fill(int from, int to, int value) {
+        while (from < to){
+            int index = from >>> this.pageBits;
+            int start = from & this.pageMask;
+            int chunk = Math.min(to - from, getPageSize() - start);
+            short[] page = this.pages[index];
+            if (page == null && (short) value != 0){
+                page = allocate(index);
+            }
+            if (page != null){
+                Arrays.fill(page, start, start + chunk, (short) value);
+            }
+            from += chunk;
+        }
+    }
+
+    /**
+     * Replaces the contents of this memory with the contents of another memory of the same size.
+     * Only pages holding non-zero words end up allocated.
+     * 
+     * @param other the memory to copy
+     * @throws IllegalArgumentException if the memories do not have the same size
+     */
+    @Override
+    public void copyFrom(Memory other) {
+        checkSameSize(other);
+        Arrays.fill(this.pages, null);
+        this.residentPages = 0;
+        short[] buffer = new short[getPageSize()];
+        for (int index = 0; index < this.pages.length; index++){
+            other.read(index << this.pageBits, buffer, 0, buffer.length);
+            write(index << this.pageBits, buffer, 0, buffer.length);
+        }
+    }
+
+    @Override
+    public Memory copy() {
+        PagedMemory copy = new PagedMemory(getAddressBusWidth(), this.pageBits);
+        for (int index = 0; index < this.pages.length; index++){
+            if (this.pages[index] != null){
+                copy.pages[index] = this.pages[index].clone();
+            }
+        }
+        copy.residentPages = this.residentPages;
+        return copy;
+    }
+
+    @Override
+    public boolean isResident(int address) {
+        return address >= 0 && address < getMemorySize() && this.pages[address >>> this.pageBits] != null;
+    }
+
+    /**
+     * Allocates a zeroed page.
+     * 
+     * @param index the page number
+     * @return the new page
+     */
+    private short[] allocate(int index) {
+        short[] page = new short[getPageSize()];
+        this.pages[index] = page;
+        this.residentPages++;
+        return page;
+    }
+
+    private static boolean isZero(short[] words, int offset, int length) {
+        for (int i = offset; i < offset + length; i++){
+            if (words[i] != 0){
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -1,6 +1,7 @@
 
 package com.arturoar.model;
-import com.arturoar.tools.GFG;
+import com.arturoar.tools.BitOps;
+import com.arturoar.tools.WordFormat;
 
 /**
  * Represents a processor register with configurable bit width.
@@ -20,6 +21,11 @@ import com.arturoar.tools.GFG;
  * 
  * Values are clamped to the valid range, and overflow/underflow status is reported
  * during signed writes. Unsigned writes (via setValueAsInstr) bypass range checking.
+ * The text representations come from the shared {@link WordFormat} tables.
+ * 
+ * The registers of a {@link Computer} live in a primitive {@link RegisterFile}; the Register
+ * objects it hands out are views over that file that read and write its slots directly.
+ * A Register created with the public constructor holds its own value.
  * 
  * @author arturoar
  */
@@ -60,9 +66,9 @@ public class Register {
      */
     public Register(int size) {
         this.size = size;
-        this.maxValue =(int) (Math.pow(2,size)/2) -1;
-        this.minValue =(int) Math.pow(2,size)/ 2;
-        this.maxValueAsInst = (int) Math.pow(2,size);
+        this.maxValue = (1 << (size - 1)) - 1;
+        this.minValue = 1 << (size - 1);
+        this.maxValueAsInst = 1 << size;
         this.value = 0;
     }
 
@@ -95,16 +101,16 @@ public class Register {
     public int setValue(int value) {
         if (value >= 0){
             if (value > this.maxValue){
-                this.value = this.maxValue;
+                setValueAsInstr(this.maxValue);
                 return 0;
             }   
         }else{
             if (value < this.minValue){
-                this.value = this.minValue;
+                setValueAsInstr(this.minValue);
                 return 2;
             }
         }
-        this.value = value;
+        setValueAsInstr(value);
         return 1;
     }
     /**
@@ -126,32 +132,28 @@ public class Register {
      * @return the binary string representation (size bits wide)
      */
     public String getBinaryValue(){
-        
-        int unsignedValue = Math.abs(this.value);
-        String binaryValue = Integer.toBinaryString(unsignedValue);
-        while (binaryValue.length() < this.size){
-            binaryValue = "0" + binaryValue;
-        }
-        if (this.value >= 0)
-            return binaryValue;
-        else
-            return GFG.getTwosComplement(binaryValue);
+        int width = patternWidth();
+        return WordFormat.binary(BitOps.wrap(getValue(), width), width);
     }
     /**
      * Retrieves the hexadecimal representation of the register's value.
-     * Converts the binary representation to base-16 format.
+     * Formats the same bit pattern in base-16.
      * Padded with leading zeros to maintain consistent width.
      * 
      * @return the hexadecimal string representation
      */
     public String getHexValue(){
-        String output = getBinaryValue();
-        int decimal = Integer.parseInt(output,2);
-        output = Integer.toHexString(decimal);
-        while (output.length()<4){
-            output = "0" + output;
-        }
-        return output;
+        return WordFormat.hex(BitOps.wrap(getValue(), patternWidth()));
+    }
+
+    /**
+     * Computes the number of bits shown for the current value: the register size, widened
+     * when the magnitude of the value needs more bits (only possible for unsigned writes).
+     * 
+     * @return the width of the bit pattern
+     */
+    private int patternWidth(){
+        return BitOps.binaryDigits(Math.abs(getValue()), this.size);
     }
     /**
      * Retrieves the decimal representation of the register's value.
@@ -160,7 +162,7 @@ public class Register {
      * @return the decimal string representation
      */
     public String getDecValue(){
-       return String.valueOf(this.value);
+       return WordFormat.decimal(getValue());
     }
     
 }
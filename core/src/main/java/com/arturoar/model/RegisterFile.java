@@ -0,0 +1,389 @@
+package com.arturoar.model;
+
+/**
+ * Primitive register file of the RISC computer.
+ * 
+ * All architectural registers are kept in a single {@code int[]} so the execution engines can work
+ * on them directly and a machine state can be copied with one array clone. The layout is:
+ * - 0-7: general purpose registers (Ax..Hx), 16-bit
+ * - {@link #PC}: program counter, as wide as the address bus
+ * - {@link #IR}: instruction register, 16-bit
+ * - {@link #DS}: data segment (size of the code segment), as wide as the address bus
+ * - {@link #FLAGS}: packed flags word with the {@link #CARRY}, {@link #OVERFLOW}, {@link #ZERO}
+ *   and {@link #SIGN} bits
+ * - {@link #CC_RESULT}, {@link #CC_RAW}, {@link #CC_PENDING}: deferred condition codes (see below)
+ * 
+ * Condition codes are evaluated lazily. Flag-setting instructions only record the value their
+ * flags depend on: the stored result for sign and zero, and the unbounded result for carry and
+ * overflow. The packed flags word is worked out from those values when a branch, the user
+ * interface or a snapshot asks for it, and is bit-exact with eager evaluation.
+ * 
+ * {@link Register} views over the file are available for code that works with register objects,
+ * such as the user interface; they read and write the same slots.
+ * 
+ * @author arturoar
+ */
+public class RegisterFile {
+
+    /**
+     * Number of general purpose registers.
+     */
+    public static final int GENERAL_PURPOSE = 8;
+    /**
+     * Slot of the program counter.
+     */
+    public static final int PC = 8;
+    /**
+     * Slot of the instruction register.
+     */
+    public static final int IR = 9;
+    /**
+     * Slot of the data segment register.
+     */
+    public static final int DS = 10;
+    /**
+     * Slot of the packed flags word.
+     */
+    public static final int FLAGS = 11;
+    /**
+     * Slot of the last flag-setting result, from which sign and zero are derived.
+     */
+    static final int CC_RESULT = 12;
+    /**
+     * Slot of the last unbounded arithmetic result, from which carry and overflow are derived.
+     */
+    static final int CC_RAW = 13;
+    /**
+     * Slot telling which flags are deferred: a combination of {@link #SZ_PENDING} and {@link #CO_PENDING}.
+     */
+    static final int CC_PENDING = 14;
+    /**
+     * Number of slots in the register file.
+     */
+    static final int SIZE = 15;
+
+    /**
+     * Sign and zero must be derived from {@link #CC_RESULT}.
+     */
+    static final int SZ_PENDING = 1;
+    /**
+     * Carry and overflow must be derived from {@link #CC_RAW}.
+     */
+    static final int CO_PENDING = 2;
+
+    /**
+     * Carry flag bit (flag index 0).
+     */
+    public static final int CARRY = 1;
+    /**
+     * Overflow flag bit (flag index 1).
+     */
+    public static final int OVERFLOW = 1 << 1;
+    /**
+     * Zero flag bit (flag index 2).
+     */
+    public static final int ZERO = 1 << 2;
+    /**
+     * Sign flag bit (flag index 3).
+     */
+    public static final int SIGN = 1 << 3;
+
+    /**
+     * Register slots, laid out as described above.
+     */
+    final int[] words;
+    /**
+     * Width of the program counter and data segment registers in bits.
+     */
+    private final int addressWidth;
+    /**
+     * Highest value a signed write leaves in the program counter.
+     */
+    private final int pcLimit;
+
+    /**
+     * Initializes a register file with every register set to 0.
+     * 
+     * @param addressWidth the width of the program counter and data segment registers in bits
+     */
+    public RegisterFile(int addressWidth) {
+        this.words = new int[SIZE];
+        this.addressWidth = addressWidth;
+        this.pcLimit = (1 << (addressWidth - 1)) - 1;
+    }
+
+    /**
+     * Creates an independent copy of this register file.
+     * 
+     * @return the copy
+     */
+    public RegisterFile copy() {
+        RegisterFile copy = new RegisterFile(this.addressWidth);
+        System.arraycopy(this.words, 0, copy.words, 0, SIZE);
+        return copy;
+    }
+
+    /**
+     * Retrieves the raw value of a slot.
+     * 
+     * @param slot the slot index (0-7 for general purpose registers, or one of the slot constants)
+     * @return the value held in the slot
+     */
+    public int get(int slot) {
+        return this.words[slot];
+    }
+
+    /**
+     * Writes the raw value of a slot without range checking.
+     * 
+     * @param slot the slot index (0-7 for general purpose registers, or one of the slot constants)
+     * @param value the value to store
+     */
+    public void set(int slot, int value) {
+        this.words[slot] = value;
+    }
+
+    /**
+     * Retrieves the packed flags word, evaluating any deferred condition codes.
+     * 
+     * @return the flags as a combination of {@link #CARRY}, {@link #OVERFLOW}, {@link #ZERO} and {@link #SIGN}
+     */
+    public int getFlags() {
+        return flags(this.words);
+    }
+
+    /**
+     * Replaces the packed flags word, discarding any deferred condition codes.
+     * 
+     * @param flags the flags as a combination of {@link #CARRY}, {@link #OVERFLOW}, {@link #ZERO} and {@link #SIGN}
+     */
+    public void setFlags(int flags) {
+        this.words[FLAGS] = flags;
+        this.words[CC_PENDING] = 0;
+    }
+
+    /**
+     * Tests the zero flag without evaluating the other condition codes.
+     * 
+     * @return true if the zero flag is set
+     */
+    public boolean isZero() {
+        return zero(this.words);
+    }
+
+    /**
+     * Records the condition codes of an arithmetic operation (ADD, SUB, CMP).
+     * Carry and overflow will be set if the result saturated; sign and zero follow the stored value.
+     * 
+     * @param raw the unbounded result of the operation
+     * @param result the value the destination register ends up holding
+     */
+    void deferArith(int raw, int result) {
+        deferArith(this.words, raw, result);
+    }
+
+    /**
+     * Records the condition codes of OR, XOR or NOT: sign and zero follow the result,
+     * carry and overflow keep their current values.
+     * 
+     * @param result the result of the operation
+     */
+    void deferLogic(int result) {
+        deferLogic(this.words, result);
+    }
+
+    /**
+     * Records the condition codes of an arithmetic operation on the given register slots.
+     * AND records a raw result of 0 so that carry and overflow are cleared.
+     * 
+     * @param words the register slots
+     * @param raw the unbounded result of the operation
+     * @param result the value the destination register ends up holding
+     */
+    static void deferArith(int[] words, int raw, int result) {
+        words[CC_RESULT] = result;
+        words[CC_RAW] = raw;
+        words[CC_PENDING] = SZ_PENDING | CO_PENDING;
+    }
+
+    /**
+     * Records the condition codes of OR, XOR or NOT on the given register slots.
+     * A deferred carry and overflow stay deferred.
+     * 
+     * @param words the register slots
+     * @param result the result of the operation
+     */
+    static void deferLogic(int[] words, int result) {
+        words[CC_RESULT] = result;
+        words[CC_PENDING] |= SZ_PENDING;
+    }
+
+    /**
+     * Evaluates the packed flags word of the given register slots.
+     * Carry and overflow are set when the unbounded result does not fit in [0, 32767],
+     * i.e. when a signed write to a 16-bit register saturated it.
+     * 
+     * @param words the register slots
+     * @return the packed flags word
+     */
+    static int flags(int[] words) {
+        int flags = words[FLAGS];
+        int pending = words[CC_PENDING];
+        if ((pending & CO_PENDING) != 0){
+            flags &= ZERO | SIGN;
+            if ((words[CC_RAW] >>> 15) != 0){
+                flags |= CARRY | OVERFLOW;
+            }
+        }
+        if ((pending & SZ_PENDING) != 0){
+            int result = words[CC_RESULT];
+            flags &= CARRY | OVERFLOW;
+            if (result == 0){
+                flags |= ZERO;
+            }
+            if ((result & 0x8000) != 0){
+                flags |= SIGN;
+            }
+        }
+        return flags;
+    }
+
+    /**
+     * Tests the zero flag of the given register slots.
+     * 
+     * @param words the register slots
+     * @return true if the zero flag is set
+     */
+    static boolean zero(int[] words) {
+        if ((words[CC_PENDING] & SZ_PENDING) != 0){
+            return words[CC_RESULT] == 0;
+        }
+        return (words[FLAGS] & ZERO) != 0;
+    }
+
+    /**
+     * Retrieves a single flag.
+     * 
+     * @param index the flag index (0: carry, 1: overflow, 2: zero, 3: sign)
+     * @return 1 if the flag is set, 0 otherwise
+     */
+    public int getFlag(int index) {
+        return (getFlags() >> index) & 1;
+    }
+
+    /**
+     * Sets or clears a single flag.
+     * 
+     * @param index the flag index (0: carry, 1: overflow, 2: zero, 3: sign)
+     * @param value the low bit is used as the new flag value
+     */
+    public void setFlag(int index, int value) {
+        int bit = 1 << index;
+        setFlags((value & 1) != 0 ? getFlags() | bit : getFlags() & ~bit);
+    }
+
+    /**
+     * Retrieves the width of the program counter and data segment registers.
+     * 
+     * @return the width in bits
+     */
+    public int getAddressWidth() {
+        return addressWidth;
+    }
+
+    /**
+     * Retrieves the highest value a signed write leaves in the program counter.
+     * Writing a larger address saturates to this value, as {@link Register#setValue(int)} does.
+     * 
+     * @return the saturation bound of the program counter
+     */
+    public int getPcLimit() {
+        return pcLimit;
+    }
+
+    /**
+     * Moves the program counter to the given address with the saturation of a signed register write.
+     * 
+     * @param address the new, non-negative program counter
+     */
+    void jumpTo(int address) {
+        this.words[PC] = Math.min(address, this.pcLimit);
+    }
+
+    /**
+     * Advances the program counter to the next instruction with the saturation of a signed register write.
+     */
+    void advancePc() {
+        jumpTo(this.words[PC] + 1);
+    }
+
+    /**
+     * Creates a register view over one slot of this file.
+     * 
+     * @param slot the slot index
+     * @param size the bit width reported by the view
+     * @return a register reading and writing the slot
+     */
+    Register view(int slot, int size) {
+        return new SlotView(this, slot, size);
+    }
+
+    /**
+     * Creates a 1-bit register view over one flag of the packed flags word.
+     * 
+     * @param index the flag index (0: carry, 1: overflow, 2: zero, 3: sign)
+     * @return a register reading and writing the flag
+     */
+    Register flagView(int index) {
+        return new FlagView(this, index);
+    }
+
+    /**
+     * Register backed by a slot of a register file.
+     */
+    private static final class SlotView extends Register {
+        private final RegisterFile file;
+        private final int slot;
+
+        SlotView(RegisterFile file, int slot, int size) {
+            super(size);
+            this.file = file;
+            this.slot = slot;
+        }
+
+        @Override
+        public int getValue() {
+            return file.words[slot];
+        }
+
+        @Override
+        public void setValueAsInstr(int value) {
+            file.words[slot] = value;
+        }
+    }
+
+    /**
+     * 1-bit register backed by one bit of the packed flags word.
+     */
+    private static final class FlagView extends Register {
+        private final RegisterFile file;
+        private final int index;
+
+        FlagView(RegisterFile file, int index) {
+            super(1);
+            this.file = file;
+            this.index = index;
+        }
+
+        @Override
+        public int getValue() {
+            return file.getFlag(index);
+        }
+
+        @Override
+        public void setValueAsInstr(int value) {
+            file.setFlag(index, value);
+        }
+    }
+
+}
@@ -0,0 +1,413 @@
+package com.arturoar.model;
+
+import com.arturoar.exceptions.CodeSegmentViolatedException;
+import java.util.Arrays;
+
+/**
+ * Threaded-code execution engine for the RISC architecture simulator.
+ * 
+ * Instead of running the fetch-decode-operand search-execute cycle of the {@link ControlUnit},
+ * this engine turns every instruction of the loaded program into a small handler object with its
+ * operands already bound (register indices, saturated immediates, jump targets and the address of
+ * the next instruction). Running the program is then a tight loop that calls the handler at the
+ * program counter, working directly on the computer's {@link RegisterFile} ({@link MicroOps}).
+ * 
+ * Handlers are created lazily from the computer's {@link InstructionCache} and discarded together
+ * with the cached instruction when a STORE writes to their address. The architectural state left
+ * in the computer after {@link #run(long)} is identical to the one produced by
+ * {@link Computer#nextInstruction()}.
+ * 
+ * @author arturoar
+ */
+public final class ThreadedEngine {
+
+    private final Computer comp;
+    /**
+     * Handler per memory address, or null if the address has not been compiled yet.
+     * Covers the code segment and grows if the program counter leaves it.
+     */
+    private Handler[] code;
+    /**
+     * Highest value the program counter can take (the saturation bound of the PC register).
+     */
+    private int pcLimit;
+
+    /**
+     * Initializes the engine for the given computer.
+     * 
+     * @param comp the Computer instance this engine executes
+     */
+    public ThreadedEngine(Computer comp) {
+        this.comp = comp;
+        reset();
+    }
+
+    /**
+     * Discards every compiled handler, e.g. after a new program has been loaded.
+     */
+    public void reset() {
+        this.code = new Handler[comp.regs.get(RegisterFile.DS)];
+        this.pcLimit = comp.regs.getPcLimit();
+    }
+
+    /**
+     * Discards the handler compiled for the given address after its memory cell has been written.
+     * 
+     * @param address the memory address that was written
+     */
+    public void invalidate(int address) {
+        if (address < this.code.length){
+            this.code[address] = null;
+        }
+    }
+
+    /**
+     * Runs the loaded program until the program counter reaches the data segment
+     * or the instruction budget is exhausted.
+     * 
+     * @param maxInstructions the maximum number of instructions to execute
+     * @return the number of instructions executed
+     * @throws CodeSegmentViolatedException if an instruction accesses memory outside its segment;
+     *         the computer is left at the faulting instruction
+     */
+    public long run(long maxInstructions) throws CodeSegmentViolatedException {
+        int[] s = comp.regs.words;
+        Handler[] handlers = this.code;
+        int pc = s[RegisterFile.PC];
+        int ds = s[RegisterFile.DS];
+        long executed = 0;
+        try {
+            while (executed < maxInstructions && pc != ds){
+                Handler handler = pc < handlers.length ? handlers[pc] : null;
+                if (handler == null){
+                    handler = compile(pc);
+                    if (pc >= handlers.length){
+                        handlers = Arrays.copyOf(handlers, pc + 1);
+                        this.code = handlers;
+                    }
+                    handlers[pc] = handler;
+                }
+                pc = handler.execute(s);
+                executed++;
+            }
+        } finally {
+            comp.instructionCount += executed;
+            s[RegisterFile.PC] = pc;
+            s[RegisterFile.IR] = comp.mem.read(pc);
+        }
+        return executed;
+    }
+
+    /**
+     * Builds the handler for the instruction stored at the given address.
+     * 
+     * @param address the memory address of the instruction
+     * @return the handler with its operands bound
+     */
+    private Handler compile(int address) {
+        Instruction instr = comp.instructionCache.get(address);
+        int d = instr.getDestRgr();
+        int a = instr.getSrcRgr1();
+        int b = instr.getSrcRgr2();
+        int next = Math.min(address + 1, pcLimit);
+        switch (instr.getOperation()){
+            case 0:
+                return new Add(d, a, b, next);
+            case 1:
+                return new Sub(d, a, b, next);
+            case 2:
+                return new And(d, a, b, next);
+            case 3:
+                return new Or(d, a, b, next);
+            case 4:
+                return new Xor(d, a, b, next);
+            case 5:
+                return new Not(d, a, next);
+            case 6:
+                return new ShiftLeft(d, a, next);
+            case 7:
+                return new ShiftRight(d, a, next);
+            case 8:
+                return new Load(d, a, next);
+            case 9:
+                return new Cmp(a, b, next);
+            case 10:
+                return new Store(a, b, next);
+            case 11:
+                return new Jump(address + instr.getNum(), pcLimit);
+            case 12:
+                return new JumpIfZero(address + instr.getNum(), pcLimit, next, true);
+            case 13:
+                return new JumpIfZero(address + instr.getNum(), pcLimit, next, false);
+            case 14:
+                return new LoadImmediate(MicroOps.saturate(instr.getNum()), address + 1);
+            default:
+                return new Nop(next);
+        }
+    }
+
+    /**
+     * A single instruction with its operands bound.
+     */
+    private abstract static class Handler {
+
+        /**
+         * Executes the instruction on the given state.
+         * 
+         * @param s the state array
+         * @return the address of the next instruction
+         * @throws CodeSegmentViolatedException if the instruction faults; the state is left unchanged
+         */
+        abstract int execute(int[] s) throws CodeSegmentViolatedException;
+    }
+
+    private static final class Add extends Handler {
+        private final int d, a, b, next;
+
+        Add(int d, int a, int b, int next) {
+            this.d = d;
+            this.a = a;
+            this.b = b;
+            this.next = next;
+        }
+
+        @Override
+        int execute(int[] s) {
+            s[d] = MicroOps.arith(s, s[a] + s[b]);
+            return next;
+        }
+    }
+
+    private static final class Sub extends Handler {
+        private final int d, a, b, next;
+
+        Sub(int d, int a, int b, int next) {
+            this.d = d;
+            this.a = a;
+            this.b = b;
+            this.next = next;
+        }
+
+        @Override
+        int execute(int[] s) {
+            s[d] = MicroOps.arith(s, s[a] - s[b]);
+            return next;
+        }
+    }
+
+    private static final class And extends Handler {
+        private final int d, a, b, next;
+
+        And(int d, int a, int b, int next) {
+            this.d = d;
+            this.a = a;
+            this.b = b;
+            this.next = next;
+        }
+
+        @Override
+        int execute(int[] s) {
+            s[d] = MicroOps.logicClear(s, s[a] & s[b]);
+            return next;
+        }
+    }
+
+    private static final class Or extends Handler {
+        private final int d, a, b, next;
+
+        Or(int d, int a, int b, int next) {
+            this.d = d;
+            this.a = a;
+            this.b = b;
+            this.next = next;
+        }
+
+        @Override
+        int execute(int[] s) {
+            s[d] = MicroOps.logic(s, s[a] | s[b]);
+            return next;
+        }
+    }
+
+    private static final class Xor extends Handler {
+        private final int d, a, b, next;
+
+        Xor(int d, int a, int b, int next) {
+            this.d = d;
+            this.a = a;
+            this.b = b;
+            this.next = next;
+        }
+
+        @Override
+        int execute(int[] s) {
+            s[d] = MicroOps.logic(s, s[a] ^ s[b]);
+            return next;
+        }
+    }
+
+    private static final class Not extends Handler {
+        private final int d, a, next;
+
+        Not(int d, int a, int next) {
+            this.d = d;
+            this.a = a;
+            this.next = next;
+        }
+
+        @Override
+        int execute(int[] s) {
+            s[d] = MicroOps.logic(s, ~s[a] & 0xFFFF);
+            return next;
+        }
+    }
+
+    private static final class ShiftLeft extends Handler {
+        private final int d, a, next;
+
+        ShiftLeft(int d, int a, int next) {
+            this.d = d;
+            this.a = a;
+            this.next = next;
+        }
+
+        @Override
+        int execute(int[] s) {
+            s[d] = MicroOps.saturate(s[a] << 1);
+            return next;
+        }
+    }
+
+    private static final class ShiftRight extends Handler {
+        private final int d, a, next;
+
+        ShiftRight(int d, int a, int next) {
+            this.d = d;
+            this.a = a;
+            this.next = next;
+        }
+
+        @Override
+        int execute(int[] s) {
+            s[d] = MicroOps.saturate(s[a] >> 1);
+            return next;
+        }
+    }
+
+    private final class Load extends Handler {
+        private final int d, a, next;
+
+        Load(int d, int a, int next) {
+            this.d = d;
+            this.a = a;
+            this.next = next;
+        }
+
+        @Override
+        int execute(int[] s) throws CodeSegmentViolatedException {
+            MicroOps.load(s, comp.mem, d, a);
+            return next;
+        }
+    }
+
+    private static final class Cmp extends Handler {
+        private final int a, b, next;
+
+        Cmp(int a, int b, int next) {
+            this.a = a;
+            this.b = b;
+            this.next = next;
+        }
+
+        @Override
+        int execute(int[] s) {
+            MicroOps.arith(s, s[a] - s[b]);
+            return next;
+        }
+    }
+
+    private final class Store extends Handler {
+        private final int a, b, next;
+
+        Store(int a, int b, int next) {
+            this.a = a;
+            this.b = b;
+            this.next = next;
+        }
+
+        @Override
+        int execute(int[] s) throws CodeSegmentViolatedException {
+            comp.memoryWritten(MicroOps.store(s, comp.mem, a, b));
+            return next;
+        }
+    }
+
+    private static final class Jump extends Handler {
+        private final int target, resolved;
+
+        Jump(int target, int pcLimit) {
+            this.target = target;
+            this.resolved = Math.min(target, pcLimit);
+        }
+
+        @Override
+        int execute(int[] s) throws CodeSegmentViolatedException {
+            if (target < 0 || target >= s[RegisterFile.DS]){
+                throw new CodeSegmentViolatedException();
+            }
+            return resolved;
+        }
+    }
+
+    private static final class JumpIfZero extends Handler {
+        private final int target, resolved, next;
+        private final boolean whenZero;
+
+        JumpIfZero(int target, int pcLimit, int next, boolean whenZero) {
+            this.target = target;
+            this.resolved = Math.min(target, pcLimit);
+            this.next = next;
+            this.whenZero = whenZero;
+        }
+
+        @Override
+        int execute(int[] s) throws CodeSegmentViolatedException {
+            if (MicroOps.isZero(s) != whenZero){
+                return next;
+            }
+            if (target < 0 || target >= s[RegisterFile.DS]){
+                throw new CodeSegmentViolatedException();
+            }
+            return resolved;
+        }
+    }
+
+    private static final class LoadImmediate extends Handler {
+        private final int value, next;
+
+        LoadImmediate(int value, int next) {
+            this.value = value;
+            this.next = next;
+        }
+
+        @Override
+        int execute(int[] s) {
+            s[0] = value;
+            return next;
+        }
+    }
+
+    private static final class Nop extends Handler {
+        private final int next;
+
+        Nop(int next) {
+            this.next = next;
+        }
+
+        @Override
+        int execute(int[] s) {
+            return next;
+        }
+    }
+
+}
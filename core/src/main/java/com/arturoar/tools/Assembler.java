@@ -0,0 +1,834 @@
+/*
+ * To change this license header, choose License Headers in Project Properties.
+ * To change this template file, choose Tools | Templates
+ * and open the template in the editor.
+ */
+package com.arturoar.tools;
+
+import com.arturoar.exceptions.WarningException;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringTokenizer;
+
+/**
+ * Translates assembly source into 16-bit instruction words.
+ * 
+ * {@link #assembleImage()} encodes every line straight into a {@code short[]} program image with a
+ * single pass over its characters, so a program assembles in time linear in its size, and
+ * {@link #assembleTo(WordSink, int)} streams the words of a source of any length (a file, a reader
+ * or a stream such as standard input) straight to their destination. The original
+ * string encoder ({@link #assemble(ArrayList)} and {@link #decodeInstruction(String)}) is kept, and
+ * lines the fast encoder does not recognize (unknown mnemonics or registers, a wrong operand count,
+ * unusual numbers) are handed to it, so every source assembles to exactly the same words as before.
+ * 
+ * @author arturoar
+ */
+public class Assembler {
+    
+    /**
+     * Version of the encoding. It must change whenever some source assembles to different words or
+     * tables, so that cached images of the old encoding are not reused (see {@link ProgramCache}).
+     */
+    public static final int VERSION = 2;
+
+    /**
+     * Mnemonics indexed by opcode, shared with the {@link Disassembler}.
+     */
+    static final String[] MNEMONICS = {"ADD", "SUB", "AND", "OR", "XOR", "NOT", "SHL", "SHR",
+        "LOAD", "CMP", "STORE", "JUMP", "JZ", "JNZ", "LOADI", "NOP"};
+    private static final int OP_CMP = 9;
+    private static final int OP_STORE = 10;
+    private static final int OP_JUMP = 11;
+    private static final int OP_JNZ = 13;
+    private static final int OP_LOADI = 14;
+    /**
+     * Width of the number operand of LOADI, and of every other one-operand instruction.
+     */
+    private static final int IMMEDIATE_WIDTH = 12;
+    private static final int OFFSET_WIDTH = 8;
+    /**
+     * Result of {@link #encodeNumber} when the number must go through the string encoder.
+     */
+    private static final int NOT_FAST = Integer.MIN_VALUE;
+    /**
+     * Largest count accepted by {@code .fill}, the size of the largest memory.
+     */
+    private static final int MAX_FILL = 1 << 24;
+
+    /**
+     * Destination of the words of {@link #assembleTo(WordSink, int)}, such as a memory.
+     */
+    public interface WordSink {
+
+        /**
+         * Stores a word. A word may be written again when one of its operands is fixed up.
+         * 
+         * @param address the address of the word
+         * @param word the word; only its low 16 bits are significant
+         */
+        void write(int address, int word);
+    }
+
+    private File file;
+    private BufferedReader reader;
+    private ArrayList<String> highLevelInstruction;
+    private boolean retainSource = true;
+    private final HashMap<String, Integer> symbols = new HashMap<>();
+    /**
+     * Words waiting for each undefined label while a source is assembled, null otherwise.
+     */
+    private LinkedHashMap<String, ArrayList<Fixup>> pending;
+    /**
+     * Line being assembled, recorded with the fixups it creates.
+     */
+    private int lineNumber;
+
+    public Assembler(String address) {
+        this.file = new File(address);
+        this.highLevelInstruction = new ArrayList<>();
+    }
+
+    public Assembler(File file) {
+        this.file = file;
+        this.highLevelInstruction = new ArrayList<>();
+    }
+
+    /**
+     * Initializes an assembler reading its source from a reader, e.g. the output of a program generator.
+     * The reader is not closed by the assembler.
+     * 
+     * @param source the assembly source
+     */
+    public Assembler(Reader source) {
+        this.reader = source instanceof BufferedReader ? (BufferedReader) source : new BufferedReader(source);
+        this.highLevelInstruction = new ArrayList<>();
+    }
+
+    /**
+     * Initializes an assembler reading its source from a stream, such as {@code System.in}, decoded
+     * with the default charset like source files. The stream is not closed by the assembler.
+     * 
+     * @param source the assembly source
+     */
+    public Assembler(InputStream source) {
+        this(new InputStreamReader(source, Charset.defaultCharset()));
+    }
+
+    /**
+     * Sets whether the source line of every instruction is kept for {@link #getHighLevelInstruction()}
+     * and the assembled {@link ProgramImage}. Turning it off keeps the memory used by a streamed assembly
+     * bounded by the number of labels; the images assembled and written then have no source lines.
+     * 
+     * @param retainSource true (the default) to keep the source lines
+     */
+    public void setRetainSource(boolean retainSource) {
+        this.retainSource = retainSource;
+    }
+
+    /**
+     * Opens the source: the file, or the reader given at construction.
+     */
+    private BufferedReader openSource() throws FileNotFoundException {
+        return this.reader != null ? this.reader : new BufferedReader(new FileReader(this.file));
+    }
+    
+    public void assemble(ArrayList<String> binaryCode) throws FileNotFoundException, IOException, WarningException{
+        BufferedReader br = openSource();
+        String buffer;
+        while((buffer = br.readLine()) != null){
+            this.highLevelInstruction.add(buffer);
+            binaryCode.add(this.decodeInstruction(buffer));
+        }
+        if (this.reader == null){
+            br.close();
+        }
+    }
+    
+    /**
+     * Reads and assembles the whole source into a program image.
+     * 
+     * The source is read in a single pass: each statement is encoded as soon as it is read, and the
+     * operands naming a label that is not defined yet are fixed up when the label is reached. Labels
+     * are kept in the symbol table. The code lines are recorded, unless {@link #setRetainSource(boolean)}
+     * turned that off, and available from {@link #getHighLevelInstruction()}; a line holding only labels
+     * is shown with the next instruction. Without them the image has no source lines. A file source is closed at the end; a reader or stream is not.
+     * 
+     * @return the program image
+     * @throws FileNotFoundException if the file does not exist
+     * @throws IOException if an I/O error occurs while reading the source
+     * @throws WarningException if a number operand does not fit in its field, a label is undefined or
+     *         defined twice, or a directive is malformed or misplaced
+     */
+    public ProgramImage assembleImage() throws FileNotFoundException, IOException, WarningException{
+        ImageBuffer image = new ImageBuffer();
+        int codeLength = assembleTo(image, Integer.MAX_VALUE);
+        return new ProgramImage(Arrays.copyOf(image.words, image.size), codeLength,
+                this.retainSource ? this.highLevelInstruction : null, this.symbols);
+    }
+
+    /**
+     * Reads and assembles the whole source, handing each word to the sink as soon as it is encoded;
+     * see {@link #assembleImage()}. Nothing but the symbol table, the operands still waiting for
+     * their labels and, if retained, the source lines is kept, so arbitrarily long sources can be
+     * streamed straight into memory. A word waiting for a label is written first with a zero operand
+     * and written again once the label is defined. If assembly fails, the words already handed to
+     * the sink stay there.
+     * 
+     * @param sink the destination of the words, written at addresses 0 upwards
+     * @param capacity the number of words the sink can hold
+     * @return the number of instructions, which is also the address where the data segment starts
+     * @throws FileNotFoundException if the file does not exist
+     * @throws IOException if an I/O error occurs while reading the source
+     * @throws WarningException if the program does not assemble or does not fit in the sink
+     */
+    public int assembleTo(WordSink sink, int capacity) throws FileNotFoundException, IOException, WarningException{
+        BufferedReader br = openSource();
+        this.pending = new LinkedHashMap<>();
+        try {
+            return assembleTo(br, sink, capacity);
+        } finally {
+            this.pending = null;
+            if (this.reader == null){
+                br.close();
+            }
+        }
+    }
+
+    private int assembleTo(BufferedReader br, WordSink sink, int capacity) throws IOException, WarningException{
+        StringBuilder pendingLabels = new StringBuilder();
+        boolean inData = false;
+        int codeLength = 0;
+        int address = 0;
+        int lineNumber = 0;
+        String buffer;
+        while((buffer = br.readLine()) != null){
+            lineNumber++;
+            int start = skipSpaces(buffer, 0);
+            int end = tokenEnd(buffer, start);
+            int colon = buffer.indexOf(':', start);
+            if (colon >= 0 && colon < end){
+                String label = buffer.substring(start, colon);
+                if (!isIdentifier(label, 0, label.length())){
+                    throw warning(lineNumber, "invalid label \"" + label + "\"");
+                }
+                if (this.symbols.containsKey(label)){
+                    throw warning(lineNumber, "label " + label + " defined twice");
+                }
+                define(label, address, sink);
+                start = skipSpaces(buffer, colon + 1);
+                end = tokenEnd(buffer, start);
+                if (start == buffer.length()){
+                    if (this.retainSource){
+                        pendingLabels.append(buffer.trim()).append(' ');
+                    }
+                    continue;
+                }
+            }
+            else if (start == buffer.length()){
+                continue;
+            }
+            if (buffer.charAt(start) == '.'){
+                String directive = buffer.substring(start, end);
+                if (directive.equals(".data")){
+                    if (skipSpaces(buffer, end) != buffer.length()){
+                        throw warning(lineNumber, ".data takes no operands");
+                    }
+                    inData = true;
+                    continue;
+                }
+                if (!directive.equals(".word") && !directive.equals(".fill")){
+                    throw warning(lineNumber, "unknown directive " + directive);
+                }
+                if (!inData){
+                    throw warning(lineNumber, directive + " outside the .data section");
+                }
+                address = emitData(buffer, end, directive.equals(".fill"), sink, address, capacity, lineNumber);
+            }
+            else {
+                if (inData){
+                    throw warning(lineNumber, "instruction inside the .data section");
+                }
+                if (address == capacity){
+                    throw warning(lineNumber, "program does not fit in " + capacity + " words");
+                }
+                this.lineNumber = lineNumber;
+                try {
+                    sink.write(address, encode(start == 0 ? buffer : buffer.substring(start), address));
+                } catch (WarningException ex) {
+                    throw warning(lineNumber, ex.getMessage());
+                }
+                if (this.retainSource){
+                    this.highLevelInstruction.add(pendingLabels.length() == 0 ? buffer : pendingLabels + buffer.trim());
+                    pendingLabels.setLength(0);
+                }
+                address++;
+                codeLength = address;
+            }
+        }
+        if (!this.pending.isEmpty()){
+            // labels are pending in the order of their first use
+            Map.Entry<String, ArrayList<Fixup>> first = this.pending.entrySet().iterator().next();
+            throw warning(first.getValue().get(0).lineNumber, "undefined label " + first.getKey());
+        }
+        return codeLength;
+    }
+
+    /**
+     * Assembles the whole file and writes the program image to a binary file (see {@link ImageFile}),
+     * which loads without being assembled again.
+     * 
+     * @param output the image file to write
+     * @return the program image
+     * @throws FileNotFoundException if the source file does not exist
+     * @throws IOException if an I/O error occurs while reading the source or writing the image
+     * @throws WarningException if the source does not assemble
+     */
+    public ProgramImage writeImage(File output) throws FileNotFoundException, IOException, WarningException{
+        ProgramImage image = assembleImage();
+        ImageFile.write(image, output);
+        return image;
+    }
+
+    /**
+     * Defines a label and fixes up the words that were waiting for it.
+     */
+    private void define(String label, int address, WordSink sink) throws WarningException{
+        this.symbols.put(label, address);
+        ArrayList<Fixup> uses = this.pending.remove(label);
+        if (uses == null){
+            return;
+        }
+        for (Fixup use : uses){
+            if (use.width == 0){
+                continue;
+            }
+            try {
+                sink.write(use.address, use.word | fieldValue(label, address, use.address, use.width, use.relative));
+            } catch (WarningException ex) {
+                throw warning(use.lineNumber, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Resolves a label operand, or records it to be fixed up once the label is defined.
+     * 
+     * @param word the word the operand is part of, with a zero operand
+     * @param width the width of the operand field; a 16-bit field is a whole data word, and a
+     *        0-bit one only checks that the label gets defined
+     * @param relative whether the operand is the offset from the word's address to the label
+     * @return the operand field, 0 if the label is not defined yet
+     * @throws WarningException if the label is defined and does not fit in the field, or is undefined
+     *         outside of {@link #assembleTo(WordSink, int)}
+     */
+    private int labelOperand(String label, int word, int address, int width, boolean relative) throws WarningException{
+        Integer target = this.symbols.get(label);
+        if (target != null){
+            return fieldValue(label, target, address, width, relative);
+        }
+        if (this.pending == null){
+            throw new WarningException("undefined label " + label);
+        }
+        ArrayList<Fixup> uses = this.pending.get(label);
+        if (uses == null){
+            uses = new ArrayList<>(2);
+            this.pending.put(label, uses);
+        }
+        uses.add(new Fixup(address, word, width, relative, this.lineNumber));
+        return 0;
+    }
+
+    private static int fieldValue(String label, int target, int address, int width, boolean relative) throws WarningException{
+        int value = relative ? target - address : target;
+        if (width > 0 && width < 16 && (value < -(1 << (width - 1)) || value >= 1 << (width - 1))){
+            throw new WarningException("label " + label + " out of range (" + value + ")");
+        }
+        return BitOps.wrap(value, width);
+    }
+
+    /**
+     * Writes the words of a {@code .word} or {@code .fill} directive.
+     * 
+     * @return the address following the last word written
+     */
+    private int emitData(String line, int pos, boolean fill, WordSink sink, int address, int capacity,
+            int lineNumber) throws WarningException{
+        this.lineNumber = lineNumber;
+        if (fill){
+            int start = skipSpaces(line, pos);
+            int end = tokenEnd(line, start);
+            int next = skipSpaces(line, end);
+            if (start == end || skipSpaces(line, tokenEnd(line, next)) != line.length()){
+                throw warning(lineNumber, ".fill takes a count and an optional value");
+            }
+            long count = parseNumber(line, start, end);
+            if (count < 0 || count > MAX_FILL){
+                throw warning(lineNumber, "invalid .fill count " + line.substring(start, end));
+            }
+            if (count > capacity - address){
+                throw warning(lineNumber, "program does not fit in " + capacity + " words");
+            }
+            if (count == 0 && next < line.length() && isIdentifier(line, next, tokenEnd(line, next))){
+                // nothing is written, but the label must still be defined somewhere
+                labelOperand(line.substring(next, tokenEnd(line, next)), 0, address, 0, false);
+            }
+            for (int i = 0; i < count; i++){
+                sink.write(address, next == line.length() ? 0 : wordValue(line, next, tokenEnd(line, next), address));
+                address++;
+            }
+            return address;
+        }
+        pos = skipSpaces(line, pos);
+        if (pos == line.length()){
+            throw warning(lineNumber, ".word needs at least one value");
+        }
+        for (; pos < line.length(); pos = skipSpaces(line, pos)){
+            if (address == capacity){
+                throw warning(lineNumber, "program does not fit in " + capacity + " words");
+            }
+            int end = tokenEnd(line, pos);
+            sink.write(address, wordValue(line, pos, end, address));
+            address++;
+            pos = end;
+        }
+        return address;
+    }
+
+    /**
+     * Resolves the value of a data word: a number (decimal, or hexadecimal with a 0x prefix) that
+     * fits in 16 bits, signed or unsigned, or the address of a label.
+     */
+    private int wordValue(String line, int start, int end, int address) throws WarningException{
+        if (isIdentifier(line, start, end)){
+            return labelOperand(line.substring(start, end), 0, address, 16, false);
+        }
+        long value = parseNumber(line, start, end);
+        if (value < Short.MIN_VALUE || value > 0xFFFF){
+            throw warning(this.lineNumber, "invalid word " + line.substring(start, end));
+        }
+        return (int) value & 0xFFFF;
+    }
+
+    /**
+     * Parses a signed decimal number, or a hexadecimal one with a 0x prefix.
+     * 
+     * @return the number, or {@link Long#MIN_VALUE} if the token is not a number or has more than 9 digits
+     */
+    private static long parseNumber(String line, int start, int end) {
+        boolean negative = line.charAt(start) == '-';
+        int pos = negative || line.charAt(start) == '+' ? start + 1 : start;
+        int radix = 10;
+        if (end - pos > 2 && line.charAt(pos) == '0' && (line.charAt(pos + 1) == 'x' || line.charAt(pos + 1) == 'X')){
+            radix = 16;
+            pos += 2;
+        }
+        if (pos == end || end - pos > 9){
+            return Long.MIN_VALUE;
+        }
+        long value = 0;
+        for (; pos < end; pos++){
+            char c = line.charAt(pos);
+            int digit = c >= '0' && c <= '9' ? c - '0'
+                    : c >= 'a' && c <= 'f' ? c - 'a' + 10
+                    : c >= 'A' && c <= 'F' ? c - 'A' + 10 : radix;
+            if (digit >= radix){
+                return Long.MIN_VALUE;
+            }
+            value = value * radix + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    private static int skipSpaces(String line, int pos) {
+        while (pos < line.length() && line.charAt(pos) == ' '){
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int tokenEnd(String line, int pos) {
+        while (pos < line.length() && line.charAt(pos) != ' '){
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int skipToken(String line, int pos) {
+        return tokenEnd(line, skipSpaces(line, pos));
+    }
+
+    /**
+     * Checks whether a token is a valid label name: a letter or underscore followed by letters,
+     * digits or underscores.
+     */
+    private static boolean isIdentifier(String line, int start, int end) {
+        if (start == end){
+            return false;
+        }
+        for (int pos = start; pos < end; pos++){
+            char c = line.charAt(pos);
+            boolean letter = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+            if (!letter && (pos == start || c < '0' || c > '9')){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static WarningException warning(int lineNumber, String message) {
+        return new WarningException("line " + lineNumber + ": " + message);
+    }
+
+    /**
+     * Encodes one line of assembly into its instruction word.
+     * Lines are split on spaces: a mnemonic followed by one number or label, or by two or three registers.
+     * Labels are looked up among the ones defined by the last {@link #assembleImage()}, and jumps are
+     * encoded as if the instruction were at address 0.
+     * 
+     * @param instr the source line
+     * @return the instruction word; only the low 16 bits are stored in memory
+     * @throws WarningException if a number operand does not fit in its field, or a label is undefined
+     * @throws NumberFormatException if the line encodes to something that is not a binary number
+     */
+    public int encodeInstruction(String instr) throws WarningException{
+        return encode(instr, 0);
+    }
+
+    /**
+     * Encodes an instruction at the given address. A label operand stands for its address, except
+     * in jumps, where it stands for the offset from the jump to the label.
+     */
+    private int encode(String instr, int address) throws WarningException{
+        int length = instr.length();
+        int[] bounds = new int[8];
+        int tokens = 0;
+        int pos = 0;
+        while (pos < length){
+            if (instr.charAt(pos) == ' '){
+                pos++;
+                continue;
+            }
+            if (tokens == 4){
+                return legacyEncode(instr);
+            }
+            int start = pos;
+            while (pos < length && instr.charAt(pos) != ' '){
+                pos++;
+            }
+            bounds[2 * tokens] = start;
+            bounds[2 * tokens + 1] = pos;
+            tokens++;
+        }
+        int op = tokens == 0 ? -1 : opcodeOf(instr, bounds[0], bounds[1]);
+        if (op < 0 || tokens == 1){
+            return legacyEncode(instr);
+        }
+        int word = op << 12;
+        if (tokens == 2){
+            int width = op == OP_LOADI ? IMMEDIATE_WIDTH : OFFSET_WIDTH;
+            int num = encodeNumber(instr, bounds[2], bounds[3], width);
+            if (num == NOT_FAST){
+                if (!isIdentifier(instr, bounds[2], bounds[3])){
+                    return legacyEncode(instr);
+                }
+                return word | labelOperand(instr.substring(bounds[2], bounds[3]), word, address, width,
+                        op >= OP_JUMP && op <= OP_JNZ);
+            }
+            return word | num;
+        }
+        int r1 = registerOf(instr, bounds[2], bounds[3]);
+        int r2 = registerOf(instr, bounds[4], bounds[5]);
+        if (r1 < 0 || r2 < 0){
+            return legacyEncode(instr);
+        }
+        if (tokens == 3){
+            if (op == OP_CMP || op == OP_STORE){
+                return word | r1 << 6 | r2 << 3;
+            }
+            return word | r1 << 9 | r2 << 6;
+        }
+        int r3 = registerOf(instr, bounds[6], bounds[7]);
+        if (r3 < 0){
+            return legacyEncode(instr);
+        }
+        return word | r1 << 9 | r2 << 6 | r3 << 3;
+    }
+
+    /**
+     * Encodes a line with the string encoder, for the lines the fast encoder does not handle.
+     */
+    private int legacyEncode(String instr) throws WarningException{
+        return Integer.parseInt(decodeInstruction(instr), 2);
+    }
+
+    /**
+     * Looks up a mnemonic.
+     * 
+     * @return the opcode, or -1 if the token is not a mnemonic
+     */
+    private static int opcodeOf(String line, int start, int end) {
+        int length = end - start;
+        for (int op = 0; op < MNEMONICS.length; op++){
+            String mnemonic = MNEMONICS[op];
+            if (mnemonic.length() == length && line.regionMatches(start, mnemonic, 0, length)){
+                return op;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Looks up a register name (Ax to Hx).
+     * 
+     * @return the register index, or -1 if the token is not a register name
+     */
+    private static int registerOf(String line, int start, int end) {
+        if (end - start != 2 || line.charAt(start + 1) != 'x'){
+            return -1;
+        }
+        int index = line.charAt(start) - 'A';
+        return index >= 0 && index < 8 ? index : -1;
+    }
+
+    /**
+     * Encodes a decimal number operand into a field of the given width, with the range checks of
+     * {@link #getBinaryNumber(String, int)}. Numbers written in any other way (a second sign,
+     * non-ASCII digits, too many digits, minus zero) are left to the string encoder.
+     * 
+     * @return the field value, or {@link #NOT_FAST}
+     * @throws WarningException if the number does not fit in the field
+     */
+    private static int encodeNumber(String line, int start, int end, int width) throws WarningException{
+        boolean negative = line.charAt(start) == '-';
+        int pos = negative || line.charAt(start) == '+' ? start + 1 : start;
+        if (pos == end || end - pos > 9){
+            return NOT_FAST;
+        }
+        int num = 0;
+        for (; pos < end; pos++){
+            char c = line.charAt(pos);
+            if (c < '0' || c > '9'){
+                return NOT_FAST;
+            }
+            num = num * 10 + (c - '0');
+        }
+        int half = 1 << (width - 1);
+        if (negative){
+            if (num == 0){
+                return NOT_FAST;
+            }
+            if (num > half){
+                throw new WarningException("number out of range -" + num);
+            }
+            return BitOps.wrap(-num, width);
+        }
+        if (num > half - 1){
+            throw new WarningException("number out of range " + num);
+        }
+        return num;
+    }
+
+    public String decodeInstruction(String instr) throws WarningException{
+        StringTokenizer stkr = new StringTokenizer(instr," ");
+        String inst = getOpn(stkr.nextToken());
+        switch(stkr.countTokens()){
+            case 1:
+                String numStr = stkr.nextToken();
+                if(inst != "1110"){
+                    inst = inst + "0000" + "" + getBinaryNumber(numStr,8);
+                }
+                else {
+                    inst = inst + getBinaryNumber(numStr,12);
+                }
+               
+                break;
+            case 2:
+                if (inst == "1001" || inst == "1010"){
+                    inst = inst + "000";
+                    inst = inst + getRgr(stkr.nextToken());
+                    inst = inst + getRgr(stkr.nextToken());
+                    inst = inst + "000";
+                }
+                else {
+                    inst = inst + getRgr(stkr.nextToken());
+                    inst = inst + getRgr(stkr.nextToken());
+                    inst = inst + "000000";
+                }
+                
+                break;
+            case 3:
+                inst = inst + getRgr(stkr.nextToken());
+                inst = inst + getRgr(stkr.nextToken());
+                inst = inst + getRgr(stkr.nextToken());
+                inst = inst + "000";
+                break;
+            default:
+                System.out.println("Error");
+                break;
+        }
+        return inst;
+    }
+    
+    public static String getRgr(String rgr){
+        switch (rgr){
+            case "Ax":
+                rgr = "000";
+                break;
+            case "Bx":
+                rgr = "001";
+                break;
+            case "Cx":
+                rgr = "010";
+                break;
+            case "Dx":
+                rgr = "011";
+                break;
+            case "Ex":
+                rgr = "100";
+                break;            
+            case "Fx":
+                rgr = "101";
+                break;
+            case "Gx":
+                rgr = "110";
+                break;
+            case "Hx":
+                rgr = "111";
+                break;
+        }
+        return rgr;
+    }
+
+    public String getOpn(String opn){
+        String binaryForm = "";
+        switch (opn)
+        {
+            case "ADD":
+                binaryForm = "0000";
+                break;
+            case "SUB":
+                binaryForm = "0001";
+                break;
+            case "AND":
+                binaryForm = "0010";
+                break;
+            case "OR":
+                binaryForm = "0011";
+                break;
+            case "XOR":
+                binaryForm = "0100";
+                break;
+            case "NOT":
+                binaryForm = "0101";
+                break;
+            case "SHL":
+                binaryForm = "0110";
+                break;
+            case "SHR":
+                binaryForm = "0111";
+                break;
+            case "LOAD":
+                binaryForm = "1000";
+                break;
+            case "CMP":
+                binaryForm = "1001";
+                break;
+            case "STORE":
+                binaryForm = "1010";
+                break;
+            case "JUMP":
+                binaryForm = "1011";
+                break;
+            case "JZ":
+                binaryForm = "1100";
+                break;
+            case "JNZ":
+                binaryForm = "1101";
+                break;
+            case "LOADI":
+                binaryForm = "1110";
+                break;
+            case "NOP":
+                binaryForm = "1111";
+                break;
+            default:
+                System.out.println("Error");
+        }
+        return binaryForm;
+    }
+    
+    public String getBinaryNumber(String numStr,int length) throws WarningException{
+       
+        String binaryNumber;
+        if (numStr.startsWith("-")){
+                String unsNumStr = numStr.substring(1);
+                int num = Integer.parseInt(unsNumStr);
+                int max =(int) Math.pow(2, length)/2;
+                if ( num <= max){
+                    binaryNumber = BitOps.toTwosComplement(num, length);
+                }else
+                        throw new WarningException();
+        }else {
+            int num = Integer.parseInt(numStr);
+            int max =(int) Math.pow(2, length)/2 -1;
+                if ( num <= max){
+                    binaryNumber = BitOps.toBinary(num, length);
+                }else
+                    throw new WarningException();
+        }
+        return binaryNumber;
+    }
+
+    public ArrayList<String> getHighLevelInstruction() {
+        return highLevelInstruction;
+    }
+
+    /**
+     * A word waiting for a label: where it is, what it holds so far and how the label fills its operand.
+     */
+    private static final class Fixup {
+        private final int address;
+        private final int word;
+        private final int width;
+        private final boolean relative;
+        private final int lineNumber;
+
+        private Fixup(int address, int word, int width, boolean relative, int lineNumber) {
+            this.address = address;
+            this.word = word;
+            this.width = width;
+            this.relative = relative;
+            this.lineNumber = lineNumber;
+        }
+    }
+
+    /**
+     * Growable array collecting the words of {@link #assembleImage()}.
+     */
+    private static final class ImageBuffer implements WordSink {
+        private short[] words = new short[64];
+        private int size;
+
+        @Override
+        public void write(int address, int word) {
+            if (address >= this.words.length){
+                this.words = Arrays.copyOf(this.words, Math.max(address + 1, 2 * this.words.length));
+            }
+            this.words[address] = (short) word;
+            this.size = Math.max(this.size, address + 1);
+        }
+    }
+    
+}
@@ -0,0 +1,253 @@
+package com.arturoar.tools;
+
+import java.util.Arrays;
+
+/**
+ * Numeric bit manipulation shared by the assembler, the decoder, the registers and the displays.
+ * 
+ * Every operation works on plain {@code int} values and widths in bits (1 to 32), so none of them
+ * builds intermediate strings. The formatting methods write zero-padded binary or hexadecimal digits
+ * into a caller-supplied {@link StringBuilder} or {@code char[]}, which can be reused from one call
+ * to the next; the {@code to...} variants are shortcuts that return a new string.
+ * 
+ * @author arturoar
+ */
+public final class BitOps {
+
+    private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+    private BitOps() {
+    }
+
+    /**
+     * Builds a mask with the given number of low bits set.
+     * 
+     * @param width the number of bits (0 to 32)
+     * @return the mask; -1 for a width of 32
+     */
+    public static int mask(int width) {
+        return width >= 32 ? -1 : (1 << width) - 1;
+    }
+
+    /**
+     * Keeps the low bits of a value, wrapping it around like an unsigned register of the given width.
+     * 
+     * @param value the value
+     * @param width the width in bits
+     * @return the value modulo 2^width
+     */
+    public static int wrap(int value, int width) {
+        return value & mask(width);
+    }
+
+    /**
+     * Saturates a value the way a signed write to a register of the given width does:
+     * values above 2^(width-1) - 1 become 2^(width-1) - 1, and negative values become 2^(width-1),
+     * the bit pattern of the most negative number.
+     * 
+     * @param value the unbounded value
+     * @param width the width in bits
+     * @return the saturated value
+     */
+    public static int saturate(int value, int width) {
+        int max = (1 << (width - 1)) - 1;
+        if (value > max){
+            return max;
+        }
+        return value < 0 ? max + 1 : value;
+    }
+
+    /**
+     * Sign-extends the low bits of a value.
+     * 
+     * @param value the value holding a two's complement number in its low bits
+     * @param width the width of the number in bits
+     * @return the number as a signed int
+     */
+    public static int signExtend(int value, int width) {
+        int shift = 32 - width;
+        return (value << shift) >> shift;
+    }
+
+    /**
+     * Extracts an unsigned bit field.
+     * 
+     * @param word the word holding the field
+     * @param shift the position of the lowest bit of the field
+     * @param width the width of the field in bits
+     * @return the field value
+     */
+    public static int field(int word, int shift, int width) {
+        return (word >>> shift) & mask(width);
+    }
+
+    /**
+     * Extracts a bit field holding a two's complement number.
+     * 
+     * @param word the word holding the field
+     * @param shift the position of the lowest bit of the field
+     * @param width the width of the field in bits
+     * @return the sign-extended field value
+     */
+    public static int signedField(int word, int shift, int width) {
+        return signExtend(word >>> shift, width);
+    }
+
+    /**
+     * Replaces a bit field. Bits of the value beyond the width of the field are ignored.
+     * 
+     * @param word the word holding the field
+     * @param shift the position of the lowest bit of the field
+     * @param width the width of the field in bits
+     * @param value the new field value
+     * @return the word with the field replaced
+     */
+    public static int insertField(int word, int shift, int width, int value) {
+        int fieldMask = mask(width) << shift;
+        return (word & ~fieldMask) | ((value << shift) & fieldMask);
+    }
+
+    /**
+     * Counts the binary digits needed to show a value zero-padded to the given width.
+     * Values that do not fit keep all their significant digits; negative values use all 32 bits.
+     * 
+     * @param value the value
+     * @param width the minimum number of digits
+     * @return the number of digits
+     */
+    public static int binaryDigits(int value, int width) {
+        return Math.max(Math.max(width, 1), 32 - Integer.numberOfLeadingZeros(value));
+    }
+
+    /**
+     * Counts the hexadecimal digits needed to show a value zero-padded to the given width.
+     * Values that do not fit keep all their significant digits; negative values use all 8 digits.
+     * 
+     * @param value the value
+     * @param width the minimum number of digits
+     * @return the number of digits
+     */
+    public static int hexDigits(int value, int width) {
+        return Math.max(Math.max(width, 1), (35 - Integer.numberOfLeadingZeros(value)) >> 2);
+    }
+
+    /**
+     * Writes exactly {@code digits} binary digits of a value, most significant first.
+     * 
+     * @param dst the destination array
+     * @param offset the index of the first digit in the array
+     * @param value the value; only its low {@code digits} bits are written
+     * @param digits the number of digits to write
+     */
+    public static void formatBinary(char[] dst, int offset, int value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--){
+            dst[i] = (char) ('0' + (value & 1));
+            value >>>= 1;
+        }
+    }
+
+    /**
+     * Writes exactly {@code digits} lowercase hexadecimal digits of a value, most significant first.
+     * 
+     * @param dst the destination array
+     * @param offset the index of the first digit in the array
+     * @param value the value; only its low {@code 4 * digits} bits are written
+     * @param digits the number of digits to write
+     */
+    public static void formatHex(char[] dst, int offset, int value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--){
+            dst[i] = DIGITS[value & 0xF];
+            value >>>= 4;
+        }
+    }
+
+    /**
+     * Appends a value in binary, zero-padded to the given width (see {@link #binaryDigits(int, int)}).
+     * 
+     * @param sb the builder to append to
+     * @param value the value
+     * @param width the minimum number of digits
+     * @return the builder
+     */
+    public static StringBuilder appendBinary(StringBuilder sb, int value, int width) {
+        int digits = binaryDigits(value, width);
+        for (; digits > 32; digits--){
+            sb.append('0');
+        }
+        for (int bit = digits - 1; bit >= 0; bit--){
+            sb.append((char) ('0' + ((value >>> bit) & 1)));
+        }
+        return sb;
+    }
+
+    /**
+     * Appends a value in lowercase hexadecimal, zero-padded to the given width (see {@link #hexDigits(int, int)}).
+     * 
+     * @param sb the builder to append to
+     * @param value the value
+     * @param width the minimum number of digits
+     * @return the builder
+     */
+    public static StringBuilder appendHex(StringBuilder sb, int value, int width) {
+        int digits = hexDigits(value, width);
+        for (; digits > 8; digits--){
+            sb.append('0');
+        }
+        for (int digit = digits - 1; digit >= 0; digit--){
+            sb.append(DIGITS[(value >>> (digit << 2)) & 0xF]);
+        }
+        return sb;
+    }
+
+    /**
+     * Formats a value in binary, zero-padded to the given width (see {@link #binaryDigits(int, int)}).
+     * 
+     * @param value the value
+     * @param width the minimum number of digits
+     * @return the binary string
+     */
+    public static String toBinary(int value, int width) {
+        int digits = binaryDigits(value, width);
+        char[] chars = new char[digits];
+        formatBinary(chars, 0, value, digits);
+        return new String(chars);
+    }
+
+    /**
+     * Formats a value in lowercase hexadecimal, zero-padded to the given width (see {@link #hexDigits(int, int)}).
+     * 
+     * @param value the value
+     * @param width the minimum number of digits
+     * @return the hexadecimal string
+     */
+    public static String toHex(int value, int width) {
+        int digits = hexDigits(value, width);
+        char[] chars = new char[digits];
+        formatHex(chars, 0, value, digits);
+        return new String(chars);
+    }
+
+    /**
+     * Formats the two's complement (the negation) of a value in binary, with the same digits as
+     * {@link GFG#getTwosComplement(String)} gives for the value zero-padded to the given width:
+     * the result has {@link #binaryDigits(int, int)} digits, except that negating zero carries out
+     * into one extra leading 1.
+     * 
+     * @param value the value to negate
+     * @param width the minimum number of digits
+     * @return the binary string of the negated value
+     */
+    public static String toTwosComplement(int value, int width) {
+        int digits = binaryDigits(value, width);
+        if (value == 0){
+            char[] chars = new char[digits + 1];
+            Arrays.fill(chars, '0');
+            chars[0] = '1';
+            return new String(chars);
+        }
+        char[] chars = new char[digits];
+        formatBinary(chars, 0, -value, digits);
+        return new String(chars);
+    }
+
+}
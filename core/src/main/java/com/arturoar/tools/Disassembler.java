@@ -0,0 +1,85 @@
+package com.arturoar.tools;
+
+/**
+ * Translates 16-bit instruction words back into assembly source: the inverse of the {@link Assembler}.
+ * 
+ * Every word is disassembled to the line the assembler encodes into an instruction that behaves the same:
+ * - Three-register ops (ADD, SUB, AND, OR, XOR): {@code ADD Ax Bx Cx}
+ * - Two-register ops (NOT, SHL, SHR, LOAD): destination and source, {@code LOAD Ax Bx}
+ * - Comparison and store (CMP, STORE): the two source registers, {@code STORE Ax Bx}
+ * - Jumps (JUMP, JZ, JNZ): the signed 8-bit offset, {@code JNZ -3}
+ * - Load immediate (LOADI): the signed 12-bit immediate, {@code LOADI -5}
+ * - NOP: written {@code NOP 0}, the form the assembler accepts
+ * Bits that no field of the instruction uses are ignored by the control unit, so they are not shown:
+ * words differing only in them disassemble to the same line.
+ * 
+ * The lines of all 65536 words are kept in a shared table filled entry by entry the first time each word
+ * is disassembled, so the memory table, traces and reports that show the same code again and again build
+ * each line once. Entries are immutable strings, so the table is shared by every thread; two threads
+ * disassembling the same new word at once just store equal strings.
+ * 
+ * @author arturoar
+ */
+public final class Disassembler {
+
+    private static final int WORDS = 1 << 16;
+    private static final int OP_NOT = 5;
+    private static final int OP_CMP = 9;
+    private static final int OP_JUMP = 11;
+    private static final int OP_LOADI = 14;
+    private static final int OP_NOP = 15;
+
+    private static final String[] LINES = new String[WORDS];
+
+    private Disassembler() {
+    }
+
+    /**
+     * Disassembles an instruction word. Only its low 16 bits, the ones stored in memory, are read.
+     * 
+     * @param word the instruction word
+     * @return the assembly line of the instruction, shared between calls
+     */
+    public static String disassemble(int word) {
+        int index = word & (WORDS - 1);
+        String line = LINES[index];
+        if (line == null){
+            line = format(index);
+            LINES[index] = line;
+        }
+        return line;
+    }
+
+    /**
+     * Builds the assembly line of a 16-bit word.
+     */
+    private static String format(int word) {
+        int op = BitOps.field(word, 12, 4);
+        StringBuilder line = new StringBuilder(16).append(Assembler.MNEMONICS[op]);
+        if (op == OP_NOP){
+            return line.append(" 0").toString();
+        }
+        if (op == OP_LOADI){
+            return line.append(' ').append(BitOps.signedField(word, 0, 12)).toString();
+        }
+        if (op >= OP_JUMP){
+            return line.append(' ').append(BitOps.signedField(word, 0, 8)).toString();
+        }
+        if (op < OP_CMP){
+            appendRegister(line, BitOps.field(word, 9, 3));
+        }
+        appendRegister(line, BitOps.field(word, 6, 3));
+        if (op < OP_NOT || op >= OP_CMP){
+            appendRegister(line, BitOps.field(word, 3, 3));
+        }
+        return line.toString();
+    }
+
+    /**
+     * Appends a register name (Ax to Hx), preceded by a space.
+     */
+    private static void appendRegister(StringBuilder line, int index) {
+        line.append(' ').append((char) ('A' + index)).append('x');
+    }
+
+}
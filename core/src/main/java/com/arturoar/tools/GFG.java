@@ -18,55 +18,50 @@ public class GFG
         return (c == '0') ? '1' : '0'; 
     } 
   
-    // Print 1's and 2's complement of binary number 
-    // represented by "bin" 
+    // Returns the 2's complement of the binary number 
+    // represented by "bin", in a single pass over a char 
+    // array instead of rebuilding the string for every digit. 
+    // Numeric callers should use BitOps instead. 
     public static String getTwosComplement(String bin) 
     { 
         int n = bin.length(); 
-        int i; 
-  
-        String ones = "", twos = ""; 
-        ones = twos = ""; 
+        char[] twos = new char[n + 1]; 
   
         // for ones complement flip every bit 
-        for (i = 0; i < n; i++) 
+        for (int i = 0; i < n; i++) 
         { 
-            ones += flip(bin.charAt(i)); 
+            twos[i + 1] = flip(bin.charAt(i)); 
         } 
   
         // for two's complement go from right to left in 
         // ones complement and if we get 1 make, we make 
         // them 0 and keep going left when we get first 
-        // 0, make that 1 and go out of loop 
-        twos = ones; 
-        for (i = n - 1; i >= 0; i--) 
+        // 0, make that 1 and stop 
+        int i; 
+        for (i = n; i >= 1; i--) 
         { 
-            if (ones.charAt(i) == '1') 
+            if (twos[i] == '1') 
             { 
-                twos = twos.substring(0, i) + '0' + twos.substring(i + 1); 
+                twos[i] = '0'; 
             }  
             else
             { 
-                twos = twos.substring(0, i) + '1' + twos.substring(i + 1); 
+                twos[i] = '1'; 
                 break; 
             } 
         } 
   
         // If No break : all are 1 as in 111 or 11111; 
         // in such case, add extra 1 at beginning 
-        if (i == -1) 
+        if (i == 0) 
         { 
-            twos = '1' + twos; 
+            twos[0] = '1'; 
+            return new String(twos); 
         } 
-  
-        return twos;
+        return new String(twos, 1, n);
     } 
     public static String getBinaryNumber(int i,int numDig){
-        String binaryNumber = Integer.toBinaryString(i);
-        while (binaryNumber.length() < numDig){
-            binaryNumber = "0" + binaryNumber; 
-        }
-        return binaryNumber;
+        return BitOps.toBinary(i, numDig);
     }
   
 
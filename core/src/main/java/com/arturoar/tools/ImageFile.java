@@ -0,0 +1,190 @@
+package com.arturoar.tools;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Binary object file format for assembled programs, so they can be loaded without assembling them again.
+ * 
+ * A file holds one {@link ProgramImage}, big-endian:
+ * - header: the magic number 0x8952494D (the byte 0x89 and "RIM"), the format version (16 bits),
+ *   16 flag bits ({@link #FLAG_NO_SOURCE}, the others reserved and 0), then the code length (the data segment start), the number of preinitialized
+ *   data words and the entry point, 32 bits each;
+ * - the code words followed by the data words, 16 bits each;
+ * - the debug line table: the source text of every instruction, in address order, or nothing for an
+ *   image without its source;
+ * - the symbol table: the number of labels, then each name and its address (32 bits).
+ * Strings are stored as a 32-bit byte count followed by their UTF-8 bytes.
+ * 
+ * Files are read by mapping them into memory, and the words are copied out with a single bulk transfer.
+ * 
+ * @author arturoar
+ */
+public final class ImageFile {
+
+    /**
+     * Customary extension of program image files.
+     */
+    public static final String EXTENSION = ".rimg";
+    /**
+     * Current version of the format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Header flag of an image written without its source: the line table is empty.
+     */
+    private static final int FLAG_NO_SOURCE = 1;
+
+    private static final int MAGIC = 0x8952494D;
+    private static final int HEADER_SIZE = 20;
+
+    private ImageFile() {
+    }
+
+    /**
+     * Writes a program image to a file, replacing it if it exists.
+     * 
+     * @param image the image to write
+     * @param file the destination file
+     * @throws IOException if an I/O error occurs while writing the file
+     */
+    public static void write(ProgramImage image, File file) throws IOException {
+        short[] words = image.getWords();
+        ArrayList<String> lines = image.getSourceLines();
+        byte[][] lineBytes = new byte[lines == null ? 0 : lines.size()][];
+        long size = HEADER_SIZE + 2L * words.length + 4;
+        for (int i = 0; i < lineBytes.length; i++){
+            lineBytes[i] = lines.get(i).getBytes(StandardCharsets.UTF_8);
+            size += 4 + lineBytes[i].length;
+        }
+        Map<String, Integer> symbols = image.getSymbols();
+        byte[][] names = new byte[symbols.size()][];
+        int[] addresses = new int[names.length];
+        int n = 0;
+        for (Map.Entry<String, Integer> symbol : symbols.entrySet()){
+            names[n] = symbol.getKey().getBytes(StandardCharsets.UTF_8);
+            addresses[n] = symbol.getValue();
+            size += 8 + names[n].length;
+            n++;
+        }
+        if (size > Integer.MAX_VALUE){
+            throw new IOException("Program image too large: " + size + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        buffer.putInt(MAGIC).putShort((short) VERSION).putShort((short) (lines == null ? FLAG_NO_SOURCE : 0));
+        buffer.putInt(image.getCodeLength()).putInt(image.getDataLength()).putInt(image.getEntryPoint());
+        buffer.asShortBuffer().put(words);
+        buffer.position(buffer.position() + 2 * words.length);
+        for (byte[] line : lineBytes){
+            buffer.putInt(line.length).put(line);
+        }
+        buffer.putInt(names.length);
+        for (int i = 0; i < names.length; i++){
+            buffer.putInt(names[i].length).put(names[i]).putInt(addresses[i]);
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()){
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Reads a program image from a file.
+     * 
+     * @param file the image file
+     * @return the image
+     * @throws IOException if an I/O error occurs while reading the file, or the file is not a valid
+     *         program image of a supported version
+     */
+    public static ProgramImage read(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE){
+                throw new IOException("Not a program image: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return read(buffer, file);
+        } catch (RuntimeException ex) {
+            // a truncated or corrupted table makes the buffer throw while it is being parsed
+            throw new IOException("Corrupted program image: " + file, ex);
+        }
+    }
+
+    /**
+     * Checks whether a file starts with the magic number of program images.
+     * 
+     * @param file the file
+     * @return true if the file looks like a program image
+     * @throws FileNotFoundException if the file does not exist
+     * @throws IOException if an I/O error occurs while reading the file
+     */
+    public static boolean isImage(File file) throws IOException {
+        try (FileInputStream in = new FileInputStream(file)) {
+            byte[] magic = in.readNBytes(4);
+            return magic.length == 4 && ByteBuffer.wrap(magic).getInt() == MAGIC;
+        }
+    }
+
+    private static ProgramImage read(ByteBuffer buffer, File file) throws IOException {
+        if (buffer.getInt() != MAGIC){
+            throw new IOException("Not a program image: " + file);
+        }
+        int version = buffer.getShort() & 0xFFFF;
+        if (version != VERSION){
+            throw new IOException("Unsupported program image version " + version + ": " + file);
+        }
+        int flags = buffer.getShort() & 0xFFFF;
+        int codeLength = buffer.getInt();
+        int dataLength = buffer.getInt();
+        int entryPoint = buffer.getInt();
+        if (codeLength < 0 || dataLength < 0 || 2L * (codeLength + (long) dataLength) > buffer.remaining()){
+            throw new IOException("Corrupted program image: " + file);
+        }
+        short[] words = new short[codeLength + dataLength];
+        buffer.asShortBuffer().get(words);
+        buffer.position(buffer.position() + 2 * words.length);
+        // the tables are copied out in one transfer and the strings decoded straight from that copy
+        byte[] tables = new byte[buffer.remaining()];
+        buffer.get(tables);
+        ByteBuffer tableBuffer = ByteBuffer.wrap(tables);
+        ArrayList<String> lines = null;
+        if ((flags & FLAG_NO_SOURCE) == 0){
+            lines = new ArrayList<>(codeLength);
+            for (int i = 0; i < codeLength; i++){
+                lines.add(readString(tableBuffer));
+            }
+        }
+        int count = tableBuffer.getInt();
+        HashMap<String, Integer> symbols = new HashMap<>();
+        for (int i = 0; i < count; i++){
+            String name = readString(tableBuffer);
+            symbols.put(name, tableBuffer.getInt());
+        }
+        return new ProgramImage(words, codeLength, entryPoint, lines, symbols);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()){
+            throw new IllegalStateException("String of " + length + " bytes past the end of the image");
+        }
+        int start = buffer.position();
+        buffer.position(start + length);
+        return new String(buffer.array(), start, length, StandardCharsets.UTF_8);
+    }
+
+}
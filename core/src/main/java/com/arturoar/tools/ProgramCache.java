@@ -0,0 +1,292 @@
+package com.arturoar.tools;
+
+import com.arturoar.exceptions.WarningException;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed cache of assembled programs.
+ * 
+ * A program is identified by the SHA-256 hash of its source bytes together with the
+ * {@link Assembler#VERSION}, so an edited file or a new encoding never reuses a stale image, while
+ * the same source under any path or name is assembled only once. Lookups go through two tiers:
+ * - memory: the most recently used images, evicted in least-recently-used order past the capacity;
+ * - disk (optional): one {@link ImageFile} per program in the cache directory, named after its hash,
+ *   which survives the process and can be shared by concurrent runs.
+ * Only a miss in both tiers runs the {@link Assembler}; its image is then stored in both.
+ * 
+ * The cache is safe to use from several threads. Cached images are shared between all the computers
+ * loading them and must not be modified.
+ * 
+ * The shared cache used by {@link com.arturoar.model.Computer#loadProgramIntoMemory(File)} keeps
+ * {@value #DEFAULT_CAPACITY} programs in memory, or the number in the {@code risc.cache.size} system
+ * property, and uses the directory in the {@code risc.cache.dir} system property as its disk tier.
+ * 
+ * @author arturoar
+ */
+public final class ProgramCache {
+
+    /**
+     * Default number of programs kept in memory.
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private static ProgramCache shared;
+
+    private final int capacity;
+    private final File directory;
+    private final LinkedHashMap<String, ProgramImage> images;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong diskFailures = new AtomicLong();
+
+    /**
+     * Initializes a cache.
+     * 
+     * @param capacity the number of programs kept in memory (0 keeps none)
+     * @param directory the directory of the disk tier, created if needed, or null for none
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public ProgramCache(int capacity, File directory) {
+        if (capacity < 0){
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        this.capacity = capacity;
+        this.directory = directory;
+        this.images = new LinkedHashMap<String, ProgramImage>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ProgramImage> eldest) {
+                if (size() > ProgramCache.this.capacity){
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Retrieves the cache shared by every computer, creating it from the system properties on first use.
+     * 
+     * @return the shared cache
+     */
+    public static synchronized ProgramCache getShared() {
+        if (shared == null){
+            String directory = System.getProperty("risc.cache.dir");
+            shared = new ProgramCache(Integer.getInteger("risc.cache.size", DEFAULT_CAPACITY),
+                    directory == null || directory.isEmpty() ? null : new File(directory));
+        }
+        return shared;
+    }
+
+    /**
+     * Replaces the cache shared by every computer.
+     * 
+     * @param cache the new shared cache
+     */
+    public static synchronized void setShared(ProgramCache cache) {
+        shared = cache;
+    }
+
+    /**
+     * Retrieves the image of an assembly file, assembling it only if neither tier holds it.
+     * 
+     * @param source the assembly file
+     * @return the program image
+     * @throws IOException if an I/O error occurs while reading the file
+     * @throws WarningException if the program must be assembled and does not assemble
+     */
+    public ProgramImage load(File source) throws IOException, WarningException {
+        byte[] bytes = Files.readAllBytes(source.toPath());
+        String key = key(bytes);
+        ProgramImage image;
+        synchronized (this.images){
+            image = this.images.get(key);
+        }
+        if (image != null){
+            this.hits.incrementAndGet();
+            return image;
+        }
+        image = readDisk(key);
+        if (image != null){
+            this.diskHits.incrementAndGet();
+        }
+        else {
+            this.misses.incrementAndGet();
+            // assembled from the bytes that were hashed, so a file changing meanwhile cannot poison the cache
+            BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new ByteArrayInputStream(bytes), Charset.defaultCharset()));
+            image = new Assembler(reader).assembleImage();
+            writeDisk(key, image);
+        }
+        if (this.capacity > 0){
+            synchronized (this.images){
+                this.images.put(key, image);
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Removes every program from the memory tier; the disk tier and the counters are kept.
+     */
+    public void clear() {
+        synchronized (this.images){
+            this.images.clear();
+        }
+    }
+
+    /**
+     * Retrieves the number of programs in the memory tier.
+     * 
+     * @return the number of programs
+     */
+    public int size() {
+        synchronized (this.images){
+            return this.images.size();
+        }
+    }
+
+    /**
+     * Retrieves the number of programs kept in memory.
+     * 
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Retrieves the directory of the disk tier.
+     * 
+     * @return the directory, or null if there is no disk tier
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Retrieves the number of loads served from memory.
+     * 
+     * @return the memory hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Retrieves the number of loads served from the disk tier.
+     * 
+     * @return the disk hits
+     */
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    /**
+     * Retrieves the number of loads that had to assemble the program.
+     * 
+     * @return the misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Retrieves the number of programs evicted from memory to make room for others.
+     * 
+     * @return the evictions
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Retrieves the number of disk tier files that could not be read or written. The programs
+     * concerned were assembled, or kept only in memory, instead.
+     * 
+     * @return the disk failures
+     */
+    public long getDiskFailures() {
+        return diskFailures.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ProgramCache[hits=" + getHits() + ", diskHits=" + getDiskHits() + ", misses=" + getMisses()
+                + ", evictions=" + getEvictions() + ", diskFailures=" + getDiskFailures() + "]";
+    }
+
+    /**
+     * Computes the hexadecimal SHA-256 hash of the assembler version and the source bytes.
+     */
+    private static String key(byte[] bytes) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            // every Java platform is required to provide SHA-256
+            throw new IllegalStateException(ex);
+        }
+        digest.update((byte) (Assembler.VERSION >>> 8));
+        digest.update((byte) Assembler.VERSION);
+        byte[] hash = digest.digest(bytes);
+        StringBuilder key = new StringBuilder(2 * hash.length);
+        for (byte b : hash){
+            BitOps.appendHex(key, b & 0xFF, 2);
+        }
+        return key.toString();
+    }
+
+    private ProgramImage readDisk(String key) {
+        if (this.directory == null){
+            return null;
+        }
+        File file = new File(this.directory, key + ImageFile.EXTENSION);
+        if (!file.isFile()){
+            return null;
+        }
+        try {
+            return ImageFile.read(file);
+        } catch (IOException ex) {
+            // an unreadable or outdated image is replaced by the one assembled now
+            this.diskFailures.incrementAndGet();
+            return null;
+        }
+    }
+
+    private void writeDisk(String key, ProgramImage image) {
+        if (this.directory == null){
+            return;
+        }
+        try {
+            Files.createDirectories(this.directory.toPath());
+            // written under a temporary name and renamed, so other runs never see a partial file
+            File temporary = File.createTempFile(key, ".tmp", this.directory);
+            try {
+                ImageFile.write(image, temporary);
+                Files.move(temporary.toPath(), new File(this.directory, key + ImageFile.EXTENSION).toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary.toPath());
+            }
+        } catch (IOException ex) {
+            // the disk tier is an optimization: the program stays usable from memory
+            this.diskFailures.incrementAndGet();
+        }
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.arturoar.tools;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * An assembled program, ready to be copied into memory from address 0.
+ * 
+ * The image holds the code segment followed by the preinitialized data segment: the first
+ * {@link #getCodeLength()} words are instructions, and the data segment register points right
+ * after them. Execution starts at the entry point, address 0 for assembled programs. Each instruction
+ * keeps the source line it was assembled from, unless the image was built without its source (see
+ * {@link Assembler#setRetainSource(boolean)}), and the symbol table maps every label to its address.
+ * 
+ * Images are shared, not copied: the arrays and lists returned by the getters must not be modified.
+ * 
+ * @author arturoar
+ */
+public final class ProgramImage {
+
+    private final short[] words;
+    private final int codeLength;
+    private final int entryPoint;
+    private final ArrayList<String> sourceLines;
+    private final Map<String, Integer> symbols;
+
+    /**
+     * Initializes an image that starts executing at address 0.
+     * 
+     * @param words the code words followed by the data words
+     * @param codeLength the number of code words
+     * @param sourceLines the source line of each code word, or null or an empty list for an image without its source
+     * @param symbols the address of each label
+     * @throws IllegalArgumentException if the code length does not fit the words or the source lines
+     */
+    public ProgramImage(short[] words, int codeLength, ArrayList<String> sourceLines, Map<String, Integer> symbols) {
+        this(words, codeLength, 0, sourceLines, symbols);
+    }
+
+    /**
+     * Initializes an image.
+     * 
+     * @param words the code words followed by the data words
+     * @param codeLength the number of code words
+     * @param entryPoint the address of the first instruction executed
+     * @param sourceLines the source line of each code word, or null or an empty list for an image without its source
+     * @param symbols the address of each label
+     * @throws IllegalArgumentException if the code length does not fit the words or the source lines,
+     *         or the entry point is outside the code segment
+     */
+    public ProgramImage(short[] words, int codeLength, int entryPoint, ArrayList<String> sourceLines,
+            Map<String, Integer> symbols) {
+        if (sourceLines != null && sourceLines.isEmpty() && codeLength > 0){
+            sourceLines = null;
+        }
+        int lineCount = sourceLines == null ? 0 : sourceLines.size();
+        if (codeLength < 0 || codeLength > words.length || (sourceLines != null && lineCount != codeLength)){
+            throw new IllegalArgumentException("Invalid code length " + codeLength + " for " + words.length
+                    + " words and " + lineCount + " source lines");
+        }
+        if (entryPoint < 0 || (entryPoint > 0 && entryPoint >= codeLength)){
+            throw new IllegalArgumentException("Entry point " + entryPoint + " outside the code segment");
+        }
+        this.words = words;
+        this.codeLength = codeLength;
+        this.entryPoint = entryPoint;
+        this.sourceLines = sourceLines;
+        this.symbols = Collections.unmodifiableMap(symbols);
+    }
+
+    /**
+     * Retrieves the words of the image: the code segment followed by the data segment.
+     * 
+     * @return the words, not a copy
+     */
+    public short[] getWords() {
+        return words;
+    }
+
+    /**
+     * Retrieves the number of instructions, which is also the address where the data segment starts.
+     * 
+     * @return the code length
+     */
+    public int getCodeLength() {
+        return codeLength;
+    }
+
+    /**
+     * Retrieves the address of the first instruction executed.
+     * 
+     * @return the entry point
+     */
+    public int getEntryPoint() {
+        return entryPoint;
+    }
+
+    /**
+     * Retrieves the number of preinitialized data words.
+     * 
+     * @return the data length
+     */
+    public int getDataLength() {
+        return words.length - codeLength;
+    }
+
+    /**
+     * Retrieves the source line of each instruction, indexed by address.
+     * 
+     * @return the source lines, not a copy, or null if the image was built without its source
+     */
+    public ArrayList<String> getSourceLines() {
+        return sourceLines;
+    }
+
+    /**
+     * Retrieves the symbol table.
+     * 
+     * @return an unmodifiable map from label to address
+     */
+    public Map<String, Integer> getSymbols() {
+        return symbols;
+    }
+
+}
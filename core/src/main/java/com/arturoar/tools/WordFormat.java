@@ -0,0 +1,119 @@
+package com.arturoar.tools;
+
+/**
+ * Display text of machine words, looked up in shared tables instead of being formatted again
+ * for every register and memory cell on every refresh.
+ * 
+ * The tables cover every 16-bit word (binary, hexadecimal, and decimal from -32768 to 65535, so both
+ * the signed and the unsigned reading of a word are found), the 8-bit words of the default address bus,
+ * the two 1-bit flag values and the sixteen combinations of the flags word. The 1-bit, 8-bit and flags
+ * tables are built when the class loads; the 16-bit tables are filled entry by entry the first time each
+ * word is shown, so a run of the command-line tool or a small program only pays for the words it displays.
+ * Entries are immutable strings, so the tables are shared by every thread; two threads formatting the same
+ * new word at once just store equal strings.
+ * 
+ * Values outside the tables (wider registers, unsigned writes beyond 16 bits) are formatted with
+ * {@link BitOps}, with the same digits; every method returns exactly what the corresponding
+ * {@code BitOps} or {@link String#valueOf(int)} call would.
+ * 
+ * @author arturoar
+ */
+public final class WordFormat {
+
+    private static final int WORDS = 1 << 16;
+    private static final int MIN_DECIMAL = -(1 << 15);
+
+    private static final String[] BINARY_16 = new String[WORDS];
+    private static final String[] HEX_16 = new String[WORDS];
+    private static final String[] DECIMAL = new String[WORDS - MIN_DECIMAL];
+    private static final String[] BINARY_8 = new String[1 << 8];
+    private static final String[] BINARY_1 = {"0", "1"};
+    private static final String[] FLAGS = new String[16];
+
+    static {
+        for (int value = 0; value < BINARY_8.length; value++){
+            BINARY_8[value] = BitOps.toBinary(value, 8);
+        }
+        for (int flags = 0; flags < FLAGS.length; flags++){
+            FLAGS[flags] = ((flags >> 3) & 1) + "   " + ((flags >> 2) & 1) + "   " + ((flags >> 1) & 1) + "   " + (flags & 1);
+        }
+    }
+
+    private WordFormat() {
+    }
+
+    /**
+     * Formats a value in binary, zero-padded to the given width: the same as {@link BitOps#toBinary(int, int)}.
+     * 
+     * @param value the value
+     * @param width the minimum number of digits
+     * @return the binary string, shared for the widths 1, 8 and 16
+     */
+    public static String binary(int value, int width) {
+        if (width == 16 && value >= 0 && value < WORDS){
+            String text = BINARY_16[value];
+            if (text == null){
+                text = BitOps.toBinary(value, 16);
+                BINARY_16[value] = text;
+            }
+            return text;
+        }
+        if (width == 8 && value >= 0 && value < BINARY_8.length){
+            return BINARY_8[value];
+        }
+        if (width == 1 && (value == 0 || value == 1)){
+            return BINARY_1[value];
+        }
+        return BitOps.toBinary(value, width);
+    }
+
+    /**
+     * Formats a value in lowercase hexadecimal with at least four digits: the same as
+     * {@link BitOps#toHex(int, int)} with a width of 4.
+     * 
+     * @param value the value
+     * @return the hexadecimal string, shared for 16-bit words
+     */
+    public static String hex(int value) {
+        if (value >= 0 && value < WORDS){
+            String text = HEX_16[value];
+            if (text == null){
+                text = BitOps.toHex(value, 4);
+                HEX_16[value] = text;
+            }
+            return text;
+        }
+        return BitOps.toHex(value, 4);
+    }
+
+    /**
+     * Formats a value in decimal: the same as {@link String#valueOf(int)}.
+     * 
+     * @param value the value
+     * @return the decimal string, shared from -32768 to 65535
+     */
+    public static String decimal(int value) {
+        int index = value - MIN_DECIMAL;
+        if (index >= 0 && index < DECIMAL.length){
+            String text = DECIMAL[index];
+            if (text == null){
+                text = String.valueOf(value);
+                DECIMAL[index] = text;
+            }
+            return text;
+        }
+        return String.valueOf(value);
+    }
+
+    /**
+     * Formats the packed flags word the way the interface shows it: the sign, zero, overflow and carry
+     * bits, in that order, separated by three spaces.
+     * 
+     * @param flags the flags word (see {@code RegisterFile.CARRY}, {@code OVERFLOW}, {@code ZERO} and {@code SIGN})
+     * @return the shared text of the flags
+     */
+    public static String flags(int flags) {
+        return FLAGS[flags & 0xF];
+    }
+
+}
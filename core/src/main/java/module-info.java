@@ -0,0 +1,8 @@
+module com.arturoar.simuladorarquitecturarisc.core {
+
+    // Núcleo del simulador: no depende de JavaFX ni de ningún otro módulo fuera de java.base
+    exports com.arturoar.model;
+    exports com.arturoar.tools;
+    exports com.arturoar.exceptions;
+    exports com.arturoar.batch;
+}
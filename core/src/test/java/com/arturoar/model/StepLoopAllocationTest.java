@@ -0,0 +1,114 @@
+package com.arturoar.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.arturoar.exceptions.CodeSegmentViolatedException;
+import com.sun.management.ThreadMXBean;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+/**
+ * Allocation regression test of the step loop.
+ * 
+ * Runs every program of {@code ProgramExamples} for {@value #STEPS} instructions with each execution mode,
+ * starting the program over on the same computer whenever it halts, and measures the bytes allocated by
+ * the running thread with {@link ThreadMXBean#getCurrentThreadAllocatedBytes()}. Once warmed up, the step
+ * loop must not allocate anything. A program that faults is stopped right before its faulting instruction,
+ * so the exception, which is allocated once per fault, is left out of the measurement.
+ * 
+ * The programs directory is taken from the {@code risc.examples} system property, which the build sets
+ * to {@code ProgramExamples}; programs are started over with {@link Computer#restoreCheckpoint()}.
+ * 
+ * @author arturoar
+ */
+class StepLoopAllocationTest {
+
+    /**
+     * Number of instructions measured per program and execution mode.
+     */
+    static final long STEPS = 1_000_000;
+
+    /**
+     * Unmeasured passes of {@value #STEPS} instructions run first, so the hot path is compiled
+     * and its temporary objects, if any, are scalar replaced.
+     */
+    private static final int WARMUP_PASSES = 5;
+
+    @TestFactory
+    List<DynamicTest> stepLoopDoesNotAllocate() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "thread allocation accounting is not supported by this JVM");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        List<DynamicTest> tests = new ArrayList<>();
+        for (File program : programs()){
+            for (ExecutionMode mode : ExecutionMode.values()){
+                tests.add(DynamicTest.dynamicTest(program.getName() + " " + mode,
+                        () -> assertEquals(0, measure(threads, program, mode), "bytes allocated in " + STEPS + " steps")));
+            }
+        }
+        return tests;
+    }
+
+    /**
+     * Lists the sample programs.
+     * 
+     * @return every {@code .txt} file of the programs directory, sorted by name
+     */
+    private static File[] programs() {
+        File dir = new File(System.getProperty("risc.examples", "ProgramExamples"));
+        File[] programs = dir.listFiles((parent, name) -> name.endsWith(".txt"));
+        assertTrue(programs != null && programs.length > 0, "no programs found in " + dir.getAbsolutePath());
+        Arrays.sort(programs);
+        return programs;
+    }
+
+    /**
+     * Measures the bytes allocated while running one program for {@value #STEPS} instructions.
+     * 
+     * @param threads the thread bean used to read the allocation counter
+     * @param program the program file
+     * @param mode the execution mode
+     * @return the bytes allocated by the measured pass
+     * @throws Exception if the program cannot be loaded
+     */
+    private static long measure(ThreadMXBean threads, File program, ExecutionMode mode) throws Exception {
+        Computer comp = new Computer();
+        comp.loadProgramIntoMemory(program);
+        comp.setExecutionMode(mode);
+        comp.checkpoint();
+        long perRun;
+        try {
+            perRun = comp.run(STEPS);
+        } catch (CodeSegmentViolatedException ex) {
+            perRun = comp.getInstructionCount();
+        }
+        if (perRun == 0){
+            return 0;
+        }
+        for (int i = 0; i < WARMUP_PASSES; i++){
+            steps(comp, perRun);
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        steps(comp, perRun);
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    /**
+     * Runs {@value #STEPS} instructions, restarting the program every {@code perRun} instructions.
+     */
+    private static void steps(Computer comp, long perRun) throws CodeSegmentViolatedException {
+        long done = 0;
+        while (done < STEPS){
+            comp.restoreCheckpoint();
+            done += comp.run(Math.min(perRun, STEPS - done));
+        }
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.arturoar.tools;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.StringReader;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Round trip of program images through {@link Assembler#writeImage(File)} and {@link ImageFile#read(File)},
+ * with and without the source lines.
+ * 
+ * @author arturoar
+ */
+class ImageFileTest {
+
+    private static final String SOURCE = "start: LOADI 5\nJNZ start\n.data\nvalue: .word 7\n";
+
+    @Test
+    void imageKeepsItsSourceLines() throws Exception {
+        Assembler assembler = new Assembler(new StringReader(SOURCE));
+        ProgramImage read = roundTrip(assembler);
+        assertEquals(Arrays.asList("start: LOADI 5", "JNZ start"), read.getSourceLines());
+    }
+
+    @Test
+    void imageWithoutSourceHasNoSourceLines() throws Exception {
+        Assembler assembler = new Assembler(new StringReader(SOURCE));
+        assembler.setRetainSource(false);
+        ProgramImage assembled = assembler.assembleImage();
+        assertNull(assembled.getSourceLines());
+        assertEquals(2, assembled.getCodeLength());
+
+        assembler = new Assembler(new StringReader(SOURCE));
+        assembler.setRetainSource(false);
+        assertNull(roundTrip(assembler).getSourceLines());
+    }
+
+    /**
+     * Writes the image assembled from a source and reads it back, checking that the words, tables and
+     * source lines survive the file.
+     * 
+     * @param assembler the assembler over the source
+     * @return the image read back from the file
+     */
+    private static ProgramImage roundTrip(Assembler assembler) throws Exception {
+        File file = File.createTempFile("image", ImageFile.EXTENSION);
+        try {
+            ProgramImage written = assembler.writeImage(file);
+            ProgramImage read = ImageFile.read(file);
+            assertArrayEquals(written.getWords(), read.getWords());
+            assertEquals(written.getCodeLength(), read.getCodeLength());
+            assertEquals(written.getEntryPoint(), read.getEntryPoint());
+            assertEquals(written.getSymbols(), read.getSymbols());
+            assertEquals(written.getSourceLines(), read.getSourceLines());
+            return read;
+        } finally {
+            file.delete();
+        }
+    }
+
+}
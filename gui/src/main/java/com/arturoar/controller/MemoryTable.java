@@ -0,0 +1,275 @@
+package com.arturoar.controller;
+
+import com.arturoar.model.ChangeSet;
+import com.arturoar.model.MachineSnapshot;
+import com.arturoar.model.Memory;
+import com.arturoar.tools.Disassembler;
+import com.arturoar.tools.WordFormat;
+import java.util.Arrays;
+import java.util.BitSet;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+
+/**
+ * Data model for memory display in the user interface.
+ * 
+ * The rows of the memory table are plain memory addresses, not objects holding the text of a cell:
+ * {@link #getRows()} is a virtual list that computes the address of each row on demand, and the
+ * text of each column is formatted from the latest machine state only when the table asks for it,
+ * that is, for the rows currently visible. Memory and refresh time therefore stay flat as memory grows.
+ * The words are read from a mirror of the machine's memory that each snapshot updates with only
+ * the words written since the previous one (see {@link MachineSnapshot#updateMirror(Memory)}).
+ * The text itself comes from the shared {@link WordFormat} tables, and instructions from the shared
+ * table of the {@link Disassembler}.
+ * Each memory location is displayed in several formats to aid understanding:
+ * - Address: binary, as wide as the address bus
+ * - Binary format: 16-bit binary representation
+ * - Hexadecimal format: Base-16 representation
+ * - Decimal format: Base-10 integer representation
+ * - Instruction format: Disassembly of the word, for the code segment
+ * 
+ * The rows can be restricted to a {@link Region} of memory, and {@link #indexOf(int)} finds the row
+ * of an address for jumping to it.
+ * 
+ * @author arturoar
+ */
+public class MemoryTable {
+
+    /**
+     * Parts of memory the table can be restricted to.
+     */
+    public enum Region {
+        /** Every address. */
+        ALL("All memory"),
+        /** The code segment, from address 0 up to the data segment register. */
+        CODE("Code segment"),
+        /** The data segment, from the data segment register to the end of memory. */
+        DATA("Data segment"),
+        /** The code segment, the locations loaded with a nonzero value and those written since. */
+        TOUCHED("Touched only");
+
+        private final String label;
+
+        Region(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    /**
+     * Text shown in the instruction column of data locations.
+     */
+    private static final String NO_INSTRUCTION = "-----------";
+
+    private MachineSnapshot state;
+    private Memory mirror;
+    private Region region = Region.ALL;
+    private BitSet touched = new BitSet();
+    private AddressList rows = new AddressList(0, 0, null);
+
+    /**
+     * Shows a new machine state. Every snapshot of the computer must be shown, in order, as the memory
+     * mirror only receives the words each one reports written.
+     * The rows are rebuilt if the state comes with a full change set,
+     * or if the touched-only region gained addresses; otherwise the rows stay the same and only
+     * the text of the changed locations differs.
+     * 
+     * @param state the machine state to display
+     * @return true if the rows were rebuilt, so the table must be given {@link #getRows()} again
+     */
+    public boolean update(MachineSnapshot state) {
+        ChangeSet changes = state.getChanges();
+        boolean full = this.state == null || changes.isFull();
+        this.state = state;
+        this.mirror = state.updateMirror(this.mirror);
+        if (full){
+            Memory mem = this.mirror;
+            this.touched = new BitSet();
+            this.touched.set(0, state.getDS().getValue());
+            for (int address = state.getDS().getValue(); address < mem.getMemorySize(); address++){
+                if (mem.isResident(address) && mem.read(address) != 0){
+                    this.touched.set(address);
+                }
+            }
+            buildRows();
+            return true;
+        }
+        boolean grown = false;
+        for (int address : changes.getAddresses()){
+            if (!this.touched.get(address)){
+                this.touched.set(address);
+                grown = true;
+            }
+        }
+        if (grown && this.region == Region.TOUCHED){
+            buildRows();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Restricts the rows to a region of memory.
+     * 
+     * @param region the region to show
+     */
+    public void setRegion(Region region) {
+        this.region = region;
+        if (this.state != null){
+            buildRows();
+        }
+    }
+
+    /**
+     * Retrieves the region the rows are restricted to.
+     * 
+     * @return the region
+     */
+    public Region getRegion() {
+        return region;
+    }
+
+    /**
+     * Retrieves the rows of the table: the displayed addresses, in increasing order.
+     * The list is read-only and is replaced, not modified, when the rows change.
+     * 
+     * @return the addresses of the rows
+     */
+    public ObservableList<Integer> getRows() {
+        return rows;
+    }
+
+    /**
+     * Finds the row of an address.
+     * 
+     * @param address the memory address
+     * @return the index of its row, or -1 if the address is not displayed
+     */
+    public int indexOf(int address) {
+        return this.rows.indexOfAddress(address);
+    }
+
+    /**
+     * Retrieves the address of a row in binary format.
+     * 
+     * @param address the memory address of the row
+     * @return the address, as wide as the address bus
+     */
+    public String getAddress(int address) {
+        return WordFormat.binary(address, this.mirror.getAddressBusWidth());
+    }
+
+    /**
+     * Retrieves the content of a memory cell in binary format (16-bit representation).
+     * 
+     * @param address the memory address of the row
+     * @return the binary content
+     */
+    public String getBinaryFormat(int address) {
+        return WordFormat.binary(this.mirror.read(address), 16);
+    }
+
+    /**
+     * Retrieves the content of a memory cell in hexadecimal format (base-16).
+     * 
+     * @param address the memory address of the row
+     * @return the hexadecimal content
+     */
+    public String getHexadecimalFormat(int address) {
+        return WordFormat.hex(this.mirror.read(address));
+    }
+
+    /**
+     * Retrieves the content of a memory cell in decimal format (base-10 integer).
+     * 
+     * @param address the memory address of the row
+     * @return the decimal content
+     */
+    public String getDecimalFormat(int address) {
+        return WordFormat.decimal(this.mirror.read(address));
+    }
+
+    /**
+     * Retrieves the assembly language representation of the instruction stored at a memory address.
+     * It is disassembled from the word in memory, so it is shown for programs loaded without their
+     * source (binary images, streamed programs) too.
+     * 
+     * @param address the memory address of the row
+     * @return the disassembled instruction, or "-----------" for a data location
+     */
+    public String getInstruction(int address) {
+        if (address >= this.state.getDS().getValue()){
+            return NO_INSTRUCTION;
+        }
+        return Disassembler.disassemble(this.mirror.read(address));
+    }
+
+    /**
+     * Rebuilds the rows for the current region and machine state.
+     */
+    private void buildRows() {
+        int ds = this.state.getDS().getValue();
+        int size = this.mirror.getMemorySize();
+        switch (this.region) {
+            case CODE:
+                this.rows = new AddressList(0, ds, null);
+                break;
+            case DATA:
+                this.rows = new AddressList(ds, size - ds, null);
+                break;
+            case TOUCHED:
+                int[] addresses = new int[this.touched.cardinality()];
+                int n = 0;
+                for (int address = this.touched.nextSetBit(0); address >= 0; address = this.touched.nextSetBit(address + 1)){
+                    addresses[n++] = address;
+                }
+                this.rows = new AddressList(0, n, addresses);
+                break;
+            default:
+                this.rows = new AddressList(0, size, null);
+        }
+    }
+
+    /**
+     * Read-only list of addresses: either a contiguous range, computed on demand, or the
+     * addresses of an array. It never changes, so it fires no events.
+     */
+    private static final class AddressList extends ObservableListBase<Integer> {
+        private final int from;
+        private final int size;
+        private final int[] addresses;
+
+        AddressList(int from, int size, int[] addresses) {
+            this.from = from;
+            this.size = size;
+            this.addresses = addresses;
+        }
+
+        @Override
+        public Integer get(int index) {
+            if (index < 0 || index >= this.size){
+                throw new IndexOutOfBoundsException("Row " + index + " of " + this.size);
+            }
+            return this.addresses == null ? this.from + index : this.addresses[index];
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+
+        int indexOfAddress(int address) {
+            if (this.addresses != null){
+                int index = Arrays.binarySearch(this.addresses, 0, this.size, address);
+                return index < 0 ? -1 : index;
+            }
+            int index = address - this.from;
+            return index >= 0 && index < this.size ? index : -1;
+        }
+    }
+
+}
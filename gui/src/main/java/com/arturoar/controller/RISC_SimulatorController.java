@@ -0,0 +1,535 @@
+
+package com.arturoar.controller;
+
+import com.arturoar.exceptions.CodeSegmentViolatedException;
+import com.arturoar.exceptions.WarningException;
+import com.arturoar.model.BackgroundRunner;
+import com.arturoar.model.ChangeSet;
+import com.arturoar.model.Computer;
+import com.arturoar.model.MachineSnapshot;
+import com.arturoar.model.Register;
+import com.arturoar.model.RegisterFile;
+import com.arturoar.tools.WordFormat;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Paths;
+import java.util.ResourceBundle;
+
+import javafx.animation.AnimationTimer;
+import javafx.animation.PauseTransition;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.AnchorPane;
+import javafx.stage.FileChooser;
+import javafx.util.Duration;
+
+/**
+ * FXML Controller for the RISC Architecture Simulator user interface.
+ * 
+ * This controller manages all user interactions and maintains synchronization between
+ * the simulator engine (Computer class) and the JavaFX UI components. It handles:
+ * - File loading: Reading and assembling RISC programs from files
+ * - Program execution: Running programs step-by-step, or continuously on a background thread
+ *   at full speed or at a chosen rate, with Pause (resume with Run or step with Next) and Stop
+ *   (return to the start of the loaded program)
+ * - UI updates: Refreshing register and memory displays after each operation
+ * - Error handling: Displaying error messages when code segment violations occur
+ * 
+ * While a program runs, the {@link BackgroundRunner} owns the computer and publishes snapshots of it;
+ * an {@link AnimationTimer} takes the latest one once per frame and renders it, so the window stays
+ * responsive whatever the speed and each frame shows at most one state.
+ * The computer tracks its changes, so each snapshot tells which registers and memory cells changed
+ * since the previous one: only the register fields that changed are refreshed, and the memory table
+ * is redrawn only when memory changed.
+ * 
+ * The memory table is virtualized: its rows are addresses (see {@link MemoryTable}) and the text of a
+ * cell is formatted only while its row is visible. It can be restricted to the code segment, the data
+ * segment or the touched locations, and can jump to an address typed in decimal, 0x hex or 0b binary.
+ * 
+ * The controller displays:
+ * - 8 general purpose registers (AX, BX, CX, DX, EX, FX, GX, HX) in binary format
+ * - Special registers: Program Counter (PC), Instruction Register (IR), Code Segment (CS), Data Segment (DS)
+ * - Flag registers: Status flags (sign, zero, carry, overflow)
+ * - Memory table: Shows the memory cells of the selected region with address, binary, hex, decimal,
+ *   and instruction representations
+ * 
+ * @author arturoar
+ */
+public class RISC_SimulatorController implements Initializable {
+
+    /**
+     * Initializes the controller class.
+     */
+    @FXML
+    private TextField ax,bx,cx,dx,ex,fx,gx,hx,pc;
+    
+    @FXML
+    private TextField ir,cs,ds,flags;
+    
+    @FXML
+    private Button loadBtn,runBtn,nextBtn,clearBtn,pauseBtn,stopBtn;
+    
+    @FXML
+    private ComboBox<String> speedCB;
+    
+    @FXML
+    private ComboBox<MemoryTable.Region> regionCB;
+    
+    @FXML
+    private TextField jumpTF;
+     @FXML
+    private TableView<Integer> memoryTV;
+
+    @FXML
+    private TableColumn<Integer, String> addressTC;
+
+    @FXML
+    private TableColumn<Integer, String> contentBinTC;
+
+    @FXML
+    private TableColumn<Integer, String> contentHexTC;
+
+    @FXML
+    private TableColumn<Integer, String> contentDecTC;
+
+    @FXML
+    private TableColumn<Integer, String> instructionTC;
+    
+    @FXML
+    private AnchorPane anchorPane;
+    
+    @FXML
+    private Label errorMessage;
+    
+    private Computer comp;
+    
+    /**
+     * Speeds offered by the speed selector, and their rates in instructions per second.
+     */
+    private static final String[] SPEED_NAMES = {"Full speed", "10000 / s", "1000 / s", "100 / s", "10 / s", "2 / s"};
+    private static final double[] SPEED_RATES = {BackgroundRunner.FULL_SPEED, 10000, 1000, 100, 10, 2};
+    
+    /**
+     * Program file last loaded, reloaded by Stop; null when nothing is loaded.
+     */
+    private File programFile;
+    
+    /**
+     * Runner of the current continuous run; null when no run is in progress.
+     */
+    private BackgroundRunner runner;
+    
+    /**
+     * Renders the latest snapshot of the runner once per frame.
+     */
+    private AnimationTimer refresher;
+    
+    /**
+     * Hides the error message a few seconds after it is shown.
+     */
+    private PauseTransition errorTimer;
+    
+    /**
+     * Register fields indexed by register file slot (general purpose registers, PC, IR; no field for CS).
+     */
+    private TextField[] registerFields;
+    
+    /**
+     * Formats the memory table rows, which are addresses, from the displayed machine state.
+     */
+    private final MemoryTable memoryTable = new MemoryTable();
+    
+    
+    /**
+     * Initializes the controller and prepares the UI for operation.
+     * Creates a new Computer instance, displays initial register/memory state,
+     * and disables execution buttons until a program is loaded.
+     * 
+     * @param url the location used to resolve relative paths for the root object
+     * @param rb the resources used to localize the root object
+     */
+    @Override
+    public void initialize(URL url, ResourceBundle rb) {
+        
+        this.comp = newComputer();
+        this.registerFields = new TextField[]{ax, bx, cx, dx, ex, fx, gx, hx, pc, ir, ds};
+        // cells are formatted when they are shown, from the state last given to the memory table
+        addressTC.setCellValueFactory(cell -> new ReadOnlyStringWrapper(memoryTable.getAddress(cell.getValue())));
+        contentBinTC.setCellValueFactory(cell -> new ReadOnlyStringWrapper(memoryTable.getBinaryFormat(cell.getValue())));
+        contentHexTC.setCellValueFactory(cell -> new ReadOnlyStringWrapper(memoryTable.getHexadecimalFormat(cell.getValue())));
+        contentDecTC.setCellValueFactory(cell -> new ReadOnlyStringWrapper(memoryTable.getDecimalFormat(cell.getValue())));
+        instructionTC.setCellValueFactory(cell -> new ReadOnlyStringWrapper(memoryTable.getInstruction(cell.getValue())));
+        regionCB.getItems().setAll(MemoryTable.Region.values());
+        regionCB.getSelectionModel().select(this.memoryTable.getRegion());
+        speedCB.getItems().setAll(SPEED_NAMES);
+        speedCB.getSelectionModel().select(0);
+        this.refresher = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                refresh();
+            }
+        };
+        this.errorTimer = new PauseTransition(Duration.seconds(3));
+        this.errorTimer.setOnFinished(e -> errorMessage.setVisible(false));
+        updateScreen();
+        
+    }    
+    /**
+     * Handles the Load button event.
+     * Opens a file chooser to select an assembly program file, loads it into memory,
+     * and updates the display. Enables execution buttons after successful load.
+     * Defaults to the ProgramExamples directory for file browsing.
+     * 
+     * @param event the action event triggered by clicking the Load button
+     * @throws IOException if an I/O error occurs while reading the file
+     * @throws FileNotFoundException if the selected file is not found
+     * @throws WarningException if a warning occurs during assembly
+     */
+    @FXML
+    private void handleLoad(ActionEvent event) throws IOException, FileNotFoundException, WarningException{
+        final FileChooser fc = new FileChooser();
+
+        String projectRoot = System.getProperty("user.dir");
+        File defaultDirectory = Paths.get(projectRoot, "RISC-Architecture-Simulator/ProgramExamples/").toFile();
+        
+        // Establecer la ruta inicial
+        fc.setInitialDirectory(defaultDirectory);
+
+        File file = fc.showOpenDialog(null);
+        if (file != null){
+            this.comp.loadProgramIntoMemory(file);
+            this.programFile = file;
+            // UPDATE REGISTERS AND MEMORY
+            updateScreen();
+        }
+    }
+    /**
+     * Handles the Run button event.
+     * Starts, or resumes after a pause, the loaded program on a background thread at the selected speed.
+     * The display follows it once per frame until it halts, faults or is paused or stopped.
+     * 
+     * @param event the action event triggered by clicking the Run button
+     */
+    @FXML
+    private void handleRun(ActionEvent event){
+        this.runner = new BackgroundRunner(this.comp);
+        this.runner.setTargetRate(selectedRate());
+        this.runner.start();
+        this.refresher.start();
+        updateButtons(false);
+    }
+    /**
+     * Handles the Pause button event.
+     * Stops the running program after the current instruction and shows where it stopped.
+     * Run resumes it, and Next executes it step by step.
+     * 
+     * @param event the action event triggered by clicking the Pause button
+     * @throws InterruptedException if the application thread is interrupted while the run stops
+     */
+    @FXML
+    private void handlePause(ActionEvent event) throws InterruptedException{
+        if (this.runner != null){
+            this.runner.pause();
+            refresh();
+        }
+    }
+    /**
+     * Handles the Stop button event.
+     * Abandons the current run, if any, and loads the program again so it can be run from the start.
+     * 
+     * @param event the action event triggered by clicking the Stop button
+     * @throws InterruptedException if the application thread is interrupted while the run stops
+     * @throws IOException if an I/O error occurs while reading the program file
+     * @throws WarningException if a warning occurs during assembly
+     */
+    @FXML
+    private void handleStop(ActionEvent event) throws InterruptedException, IOException, WarningException{
+        endRun();
+        this.comp = newComputer();
+        this.comp.loadProgramIntoMemory(this.programFile);
+        updateScreen();
+    }
+    /**
+     * Handles a change of the speed selector.
+     * Applies the new speed to the running program at once.
+     * 
+     * @param event the action event triggered by selecting a speed
+     */
+    @FXML
+    private void handleSpeed(ActionEvent event){
+        if (this.runner != null){
+            this.runner.setTargetRate(selectedRate());
+        }
+    }
+    /**
+     * Handles a change of the memory region selector.
+     * Restricts the memory table to the selected region.
+     * 
+     * @param event the action event triggered by selecting a region
+     */
+    @FXML
+    private void handleRegion(ActionEvent event){
+        MemoryTable.Region region = regionCB.getValue();
+        if (region != null && region != this.memoryTable.getRegion()){
+            this.memoryTable.setRegion(region);
+            memoryTV.setItems(this.memoryTable.getRows());
+        }
+    }
+    /**
+     * Handles the jump-to-address field.
+     * Scrolls the memory table to the typed address (decimal, 0x hex or 0b binary) and selects it,
+     * showing the whole memory if the address is outside the selected region.
+     * 
+     * @param event the action event triggered by pressing Enter in the field
+     */
+    @FXML
+    private void handleJump(ActionEvent event){
+        String text = jumpTF.getText().trim();
+        int address;
+        try {
+            if (text.startsWith("0x") || text.startsWith("0X")){
+                address = Integer.parseInt(text.substring(2), 16);
+            }
+            else if (text.startsWith("0b") || text.startsWith("0B")){
+                address = Integer.parseInt(text.substring(2), 2);
+            }
+            else {
+                address = Integer.parseInt(text);
+            }
+        } catch (NumberFormatException ex) {
+            address = -1;
+        }
+        if (address < 0 || address >= this.comp.getMem().getMemorySize()){
+            showMessage("Invalid memory address: " + text);
+            return;
+        }
+        if (this.memoryTable.indexOf(address) < 0){
+            regionCB.getSelectionModel().select(MemoryTable.Region.ALL);
+            handleRegion(event);
+        }
+        int index = this.memoryTable.indexOf(address);
+        memoryTV.scrollTo(index);
+        memoryTV.getSelectionModel().clearAndSelect(index);
+    }
+    /**
+     * Handles the Next button event.
+     * Executes a single instruction and updates the display.
+     * If a code segment violation occurs, displays an error message, resets the computer,
+     * and updates the display.
+     * 
+     * @param event the action event triggered by clicking the Next button
+     */
+    @FXML
+    private void handleNext(ActionEvent event){
+        try {
+            this.comp.nextInstruction();
+            updateScreen();
+        } catch (CodeSegmentViolatedException ex) {
+            fault(ex);
+        }
+        
+    }
+    /**
+     * Handles the Clear button event.
+     * Resets the computer to its initial state and updates the display.
+     * Clears all registers, memory, and flags.
+     * 
+     * @param event the action event triggered by clicking the Clear button
+     */
+    @FXML
+    private void handleClear(ActionEvent event) throws InterruptedException{
+        endRun();
+        this.comp = newComputer();
+        this.programFile = null;
+        updateScreen();
+    }
+    
+    /**
+     * Renders the latest snapshot published by the runner, if a new one is available.
+     * Once the run is over (halted, faulted or paused), stops the frame timer, restores the buttons,
+     * and on a fault shows the error and resets the computer.
+     */
+    private void refresh(){
+        if (this.runner == null){
+            return;
+        }
+        // the state is read first: a finished run has published its final snapshot before changing it
+        BackgroundRunner.State state = this.runner.getState();
+        MachineSnapshot snapshot = this.runner.takeSnapshot();
+        if (snapshot != null){
+            render(snapshot);
+        }
+        if (state == BackgroundRunner.State.RUNNING){
+            return;
+        }
+        CodeSegmentViolatedException error = this.runner.getError();
+        this.refresher.stop();
+        this.runner = null;
+        if (error != null){
+            fault(error);
+        }
+        else {
+            updateScreen();
+        }
+    }
+    
+    /**
+     * Stops the current run, if any, without rendering it.
+     * 
+     * @throws InterruptedException if the application thread is interrupted while the run stops
+     */
+    private void endRun() throws InterruptedException{
+        if (this.runner != null){
+            this.runner.pause();
+            this.refresher.stop();
+            this.runner = null;
+        }
+    }
+    
+    /**
+     * Reports a code segment violation: shows its message for a few seconds without blocking
+     * the window, and resets the computer.
+     * 
+     * @param ex the violation
+     */
+    private void fault(CodeSegmentViolatedException ex){
+        showMessage(ex.getMessage());
+        this.comp = newComputer();
+        this.programFile = null;
+        updateScreen();
+    }
+    
+    /**
+     * Shows an error message for a few seconds without blocking the window.
+     * 
+     * @param message the message
+     */
+    private void showMessage(String message){
+        errorMessage.setText(message);
+        errorMessage.setVisible(true);
+        this.errorTimer.playFromStart();
+    }
+    
+    /**
+     * Retrieves the rate of the speed chosen in the speed selector.
+     * 
+     * @return the target rate in instructions per second, or {@link BackgroundRunner#FULL_SPEED}
+     */
+    private double selectedRate(){
+        int index = speedCB.getSelectionModel().getSelectedIndex();
+        return index < 0 ? BackgroundRunner.FULL_SPEED : SPEED_RATES[index];
+    }
+    
+    /**
+     * Enables the buttons that apply to the current situation: while a run is in progress only
+     * Pause, Stop and the speed selector; otherwise Load, and the execution buttons when a program
+     * is loaded and has not finished.
+     * 
+     * @param halted true if the program counter has reached the data segment
+     */
+    private void updateButtons(boolean halted){
+        boolean running = this.runner != null;
+        boolean loaded = this.programFile != null;
+        loadBtn.setDisable(running);
+        runBtn.setDisable(running || !loaded || halted);
+        nextBtn.setDisable(running || !loaded || halted);
+        clearBtn.setDisable(running || !loaded);
+        pauseBtn.setDisable(!running);
+        stopBtn.setDisable(!loaded);
+    }
+    
+    /**
+     * Updates the entire UI display with the current simulator state and the buttons that apply to it.
+     * Must not be called while a program runs in the background; the display then follows
+     * the runner's snapshots instead.
+     */
+    public void updateScreen( ){
+        MachineSnapshot state = this.comp.snapshot();
+        render(state);
+        updateButtons(state.isHalted());
+    }
+    /**
+     * Refreshes the display with a machine state.
+     * After a full change (a program was loaded, the computer was reset) every register display
+     * (in binary format), special register (PC, IR, CS, DS), the flags and the whole memory table are rebuilt.
+     * Otherwise only the registers in the snapshot's change set are updated, and the visible memory rows
+     * are formatted again if memory was written.
+     * 
+     * @param state the machine state to display
+     */
+    private void render(MachineSnapshot state){
+        ChangeSet changes = state.getChanges();
+        //Updating registers
+        for (int slot = 0; slot < this.registerFields.length; slot++){
+            if (changes.isRegisterChanged(slot)){
+                this.registerFields[slot].setText(register(state, slot).getBinaryValue());
+            }
+        }
+        if (changes.isFull()){
+            cs.setText("00000000");
+        }
+        if (changes.isRegisterChanged(RegisterFile.FLAGS)){
+            flags.setText(mergeFlags(state));
+        }
+        //Updating memory
+        if (this.memoryTable.update(state)){
+            memoryTV.setItems(this.memoryTable.getRows());
+        }
+        else if (changes.getAddresses().length > 0){
+            memoryTV.refresh();
+        }
+        
+    }
+    
+    /**
+     * Retrieves the register of a snapshot displayed in a register field.
+     * 
+     * @param state the machine state
+     * @param slot the register file slot (general purpose register, PC, IR or DS)
+     * @return the register
+     */
+    private static Register register(MachineSnapshot state, int slot){
+        switch (slot) {
+            case RegisterFile.PC:
+                return state.getPC();
+            case RegisterFile.IR:
+                return state.getIR();
+            case RegisterFile.DS:
+                return state.getDS();
+            default:
+                return state.getRegistersPG()[slot];
+        }
+    }
+    
+    /**
+     * Creates an empty computer that tracks its changes for the display.
+     * 
+     * @return the computer
+     */
+    private static Computer newComputer(){
+        Computer computer = new Computer();
+        computer.setChangeTracking(true);
+        return computer;
+    }
+    
+    /**
+     * Formats the four flag registers into a display string.
+     * Looks up the flag values (sign, zero, carry, overflow), spaced for readability, in the shared formatting table.
+     * 
+     * @param state the machine state holding the flags
+     * @return a formatted string of flag values separated by spaces
+     */
+    private String mergeFlags(MachineSnapshot state){
+        return WordFormat.flags(state.getRegisterFile().getFlags());
+    }
+}
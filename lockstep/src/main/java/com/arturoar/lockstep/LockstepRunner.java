@@ -0,0 +1,645 @@
+package com.arturoar.lockstep;
+
+import com.arturoar.batch.BatchResult;
+import com.arturoar.exceptions.CodeSegmentViolatedException;
+import com.arturoar.model.Computer;
+import com.arturoar.model.Instruction;
+import com.arturoar.model.Memory;
+import com.arturoar.model.RegisterFile;
+import com.arturoar.tools.BitOps;
+import java.util.Arrays;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Runs one program over many input vectors in lockstep.
+ * 
+ * Instead of one {@link Computer} per input, the machines are kept as a structure of arrays:
+ * one array per register with a lane per machine, plus one interleaved array for the data segments.
+ * The shared program is decoded once, and each step executes a single instruction for every lane
+ * whose program counter is at it, using the Vector API to process as many lanes per operation as the
+ * hardware allows. The code segment cannot be written by a STORE, so every lane sees the same program.
+ * 
+ * When a conditional jump sends lanes different ways, the lanes are masked: every step runs the
+ * lowest program counter among the running lanes, and the lanes ahead of it wait until the others
+ * catch up, which is where loops and if/else blocks join again. A lane that has not executed a single
+ * instruction during the last {@link #getPeelAfter()} steps has diverged for good; it is peeled off onto
+ * its own {@link Computer} and finished there with the template's execution mode, as is the last running lane.
+ * 
+ * Results are bit-exact with a {@link Computer} running the same program on the same input,
+ * including register saturation, flags and faults.
+ * Register and memory values are kept in {@code int} lanes holding 16-bit words, because saturation
+ * and the carry and overflow flags are computed from the unbounded result of each operation.
+ * 
+ * @author arturoar
+ */
+public class LockstepRunner {
+
+    /**
+     * Default instruction budget per lane.
+     */
+    public static final int DEFAULT_BUDGET = 1_000_000;
+
+    /**
+     * Default number of steps a lane may go without executing an instruction before it is peeled off.
+     */
+    public static final int DEFAULT_PEEL_AFTER = 256;
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private static final int WORD_MAX = 32767;
+    private static final int WORD_MIN = 32768;
+
+    // Lane states; padding lanes past the last real lane are never running
+    private static final int RUNNING = 0;
+    private static final int HALTED = 1;
+    private static final int BUDGET_EXHAUSTED = 2;
+    private static final int FAULT = 3;
+    private static final int PADDING = 4;
+
+    private final Computer template;
+    private final int lanes;
+    private final int capacity;
+    private final int dataSegment;
+    private final int memorySize;
+    private final int pcLimit;
+
+    private final int[] operations;
+    private final int[] destinations;
+    private final int[] sources1;
+    private final int[] sources2;
+    private final int[] numbers;
+
+    private final int[][] registers;
+    private final int[] flags;
+    private final int[] pc;
+    private final int[] status;
+    private final int[] count;
+    private final int[] progress;
+    private final int[] data;
+    private final int[] laneIndex;
+    private final int[] addresses;
+    private final Computer[] peeled;
+
+    private int budget;
+    private int peelAfter;
+    private int peeledLanes;
+
+    /**
+     * Initializes a runner with the given number of lanes, each one starting as a copy of the template:
+     * same program, data segment contents, registers and flags.
+     * 
+     * @param template a computer with the program loaded
+     * @param lanes the number of machines run in lockstep
+     * @throws IllegalArgumentException if the number of lanes is not positive, or the data segments
+     *         of every lane do not fit in a single array
+     */
+    public LockstepRunner(Computer template, int lanes) {
+        if (lanes < 1){
+            throw new IllegalArgumentException("Lanes must be positive: " + lanes);
+        }
+        RegisterFile regs = template.getRegisterFile();
+        Memory mem = template.getMem();
+        this.template = template;
+        this.lanes = lanes;
+        this.capacity = SPECIES.loopBound(lanes + SPECIES.length() - 1);
+        this.dataSegment = regs.get(RegisterFile.DS);
+        this.memorySize = mem.getMemorySize();
+        this.pcLimit = regs.getPcLimit();
+        long dataWords = (long) (this.memorySize - this.dataSegment) * this.capacity;
+        if (dataWords > Integer.MAX_VALUE - 8){
+            throw new IllegalArgumentException("The data segment of " + lanes + " lanes does not fit in memory");
+        }
+
+        this.operations = new int[this.dataSegment];
+        this.destinations = new int[this.dataSegment];
+        this.sources1 = new int[this.dataSegment];
+        this.sources2 = new int[this.dataSegment];
+        this.numbers = new int[this.dataSegment];
+        for (int address = 0; address < this.dataSegment; address++){
+            Instruction instruction = new Instruction(mem.read(address));
+            this.operations[address] = instruction.getOperation();
+            this.destinations[address] = instruction.getDestRgr();
+            this.sources1[address] = instruction.getSrcRgr1();
+            this.sources2[address] = instruction.getSrcRgr2();
+            this.numbers[address] = instruction.getNum();
+        }
+
+        this.registers = new int[RegisterFile.GENERAL_PURPOSE][this.capacity];
+        for (int i = 0; i < RegisterFile.GENERAL_PURPOSE; i++){
+            Arrays.fill(this.registers[i], regs.get(i));
+        }
+        this.flags = new int[this.capacity];
+        Arrays.fill(this.flags, regs.getFlags());
+        this.pc = new int[this.capacity];
+        int start = regs.get(RegisterFile.PC);
+        Arrays.fill(this.pc, start);
+        this.status = new int[this.capacity];
+        Arrays.fill(this.status, 0, lanes, start == this.dataSegment ? HALTED : RUNNING);
+        Arrays.fill(this.status, lanes, this.capacity, PADDING);
+        this.count = new int[this.capacity];
+        this.progress = new int[this.capacity];
+        this.data = new int[(int) dataWords];
+        for (int address = this.dataSegment; address < this.memorySize; address++){
+            int value = mem.read(address);
+            if (value != 0){
+                int base = (address - this.dataSegment) * this.capacity;
+                Arrays.fill(this.data, base, base + this.capacity, value);
+            }
+        }
+        this.laneIndex = new int[this.capacity];
+        for (int lane = 0; lane < this.capacity; lane++){
+            this.laneIndex[lane] = lane;
+        }
+        this.addresses = new int[SPECIES.length()];
+        this.peeled = new Computer[this.capacity];
+        this.budget = DEFAULT_BUDGET;
+        this.peelAfter = DEFAULT_PEEL_AFTER;
+    }
+
+    /**
+     * Sets the maximum number of instructions each lane may execute.
+     * 
+     * @param budget the instruction budget per lane
+     * @throws IllegalArgumentException if the budget is negative
+     */
+    public void setBudget(int budget) {
+        if (budget < 0){
+            throw new IllegalArgumentException("Budget must not be negative: " + budget);
+        }
+        this.budget = budget;
+    }
+
+    /**
+     * Retrieves the maximum number of instructions each lane may execute.
+     * 
+     * @return the instruction budget per lane
+     */
+    public int getBudget() {
+        return budget;
+    }
+
+    /**
+     * Sets the number of steps a lane may wait for the others without executing an instruction
+     * before it is peeled off and finished on its own computer.
+     * 
+     * @param peelAfter the number of steps
+     * @throws IllegalArgumentException if the number of steps is not positive
+     */
+    public void setPeelAfter(int peelAfter) {
+        if (peelAfter < 1){
+            throw new IllegalArgumentException("Peel threshold must be positive: " + peelAfter);
+        }
+        this.peelAfter = peelAfter;
+    }
+
+    /**
+     * Retrieves the number of steps a lane may go without executing an instruction before it is peeled off.
+     * 
+     * @return the number of steps
+     */
+    public int getPeelAfter() {
+        return peelAfter;
+    }
+
+    /**
+     * Retrieves the number of machines run in lockstep.
+     * 
+     * @return the number of lanes
+     */
+    public int getLanes() {
+        return lanes;
+    }
+
+    /**
+     * Retrieves the number of lanes that were finished on their own computer.
+     * 
+     * @return the number of peeled lanes
+     */
+    public int getPeeledLanes() {
+        return peeledLanes;
+    }
+
+    /**
+     * Sets the initial value of a general purpose register of one lane.
+     * 
+     * @param lane the lane index
+     * @param register the register index (0: Ax ... 7: Hx)
+     * @param value the 16-bit value
+     * @throws IllegalArgumentException if the register index or the value is out of range
+     */
+    public void setRegister(int lane, int register, int value) {
+        checkLane(lane);
+        if (register < 0 || register >= RegisterFile.GENERAL_PURPOSE){
+            throw new IllegalArgumentException("Invalid register: " + register);
+        }
+        checkWord(value);
+        this.registers[register][lane] = value;
+    }
+
+    /**
+     * Sets the initial value of a data segment word of one lane.
+     * The code segment is shared by every lane and cannot be changed.
+     * 
+     * @param lane the lane index
+     * @param address the data segment address
+     * @param value the 16-bit value
+     * @throws IllegalArgumentException if the address is outside the data segment or the value is out of range
+     */
+    public void setMemory(int lane, int address, int value) {
+        checkLane(lane);
+        if (address < this.dataSegment || address >= this.memorySize){
+            throw new IllegalArgumentException("Not a data segment address: " + address);
+        }
+        checkWord(value);
+        this.data[(address - this.dataSegment) * this.capacity + lane] = value;
+    }
+
+    /**
+     * Runs every lane until it halts (the program counter reaches the data segment),
+     * faults or exhausts its instruction budget.
+     */
+    public void run() {
+        for (int lane = 0; lane < this.lanes; lane++){
+            if (this.status[lane] == RUNNING && this.count[lane] >= this.budget){
+                this.status[lane] = BUDGET_EXHAUSTED;
+            }
+        }
+        int at = nextPc();
+        int steps = 0;
+        while (at != Integer.MAX_VALUE){
+            at = step(at);
+            if (++steps == this.peelAfter && at != Integer.MAX_VALUE){
+                steps = 0;
+                peelStuck();
+                at = nextPc();
+            }
+        }
+    }
+
+    /**
+     * Retrieves how a lane finished.
+     * 
+     * @param lane the lane index
+     * @return the final status, or null if the lane has not finished yet
+     */
+    public BatchResult.Status getStatus(int lane) {
+        checkLane(lane);
+        switch (this.status[lane]) {
+            case HALTED:
+                return BatchResult.Status.HALTED;
+            case BUDGET_EXHAUSTED:
+                return BatchResult.Status.BUDGET_EXHAUSTED;
+            case FAULT:
+                return BatchResult.Status.FAULT;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Retrieves the number of instructions a lane has completed. A faulting instruction is not counted.
+     * 
+     * @param lane the lane index
+     * @return the number of instructions executed
+     */
+    public int getInstructionCount(int lane) {
+        checkLane(lane);
+        return this.count[lane];
+    }
+
+    /**
+     * Retrieves the current value of a general purpose register of one lane.
+     * 
+     * @param lane the lane index
+     * @param register the register index (0: Ax ... 7: Hx)
+     * @return the 16-bit value
+     */
+    public int getRegister(int lane, int register) {
+        checkLane(lane);
+        if (this.peeled[lane] != null){
+            return this.peeled[lane].getRegisterFile().get(register);
+        }
+        return this.registers[register][lane];
+    }
+
+    /**
+     * Retrieves the current value of a data segment word of one lane.
+     * 
+     * @param lane the lane index
+     * @param address the data segment address
+     * @return the 16-bit value
+     */
+    public int getMemory(int lane, int address) {
+        checkLane(lane);
+        if (this.peeled[lane] != null){
+            return this.peeled[lane].getMem().read(address);
+        }
+        return this.data[(address - this.dataSegment) * this.capacity + lane];
+    }
+
+    /**
+     * Builds a computer holding the current state of one lane: registers, flags, program counter
+     * and memory. The instruction count of the lane is given by {@link #getInstructionCount(int)}.
+     * 
+     * @param lane the lane index
+     * @return a new computer with the lane's state
+     */
+    public Computer toComputer(int lane) {
+        checkLane(lane);
+        if (this.peeled[lane] != null){
+            return this.peeled[lane].copy();
+        }
+        Computer comp = this.template.copy();
+        RegisterFile regs = comp.getRegisterFile();
+        for (int i = 0; i < RegisterFile.GENERAL_PURPOSE; i++){
+            regs.set(i, this.registers[i][lane]);
+        }
+        regs.setFlags(this.flags[lane]);
+        Memory mem = comp.getMem();
+        for (int address = this.dataSegment; address < this.memorySize; address++){
+            mem.write(address, this.data[(address - this.dataSegment) * this.capacity + lane]);
+        }
+        regs.set(RegisterFile.PC, this.pc[lane]);
+        regs.set(RegisterFile.IR, mem.read(this.pc[lane]));
+        return comp;
+    }
+
+    /**
+     * Executes the instruction at the given address for every running lane whose program counter is there.
+     * 
+     * @param at the address of the instruction, the lowest program counter among the running lanes
+     * @return the lowest program counter among the lanes still running, or {@link Integer#MAX_VALUE} if none is
+     */
+    private int step(int at) {
+        if (at >= this.dataSegment){
+            // Words in the data segment differ per lane; leave lanes executing there to the scalar engines
+            for (int lane = 0; lane < this.lanes; lane++){
+                if (this.status[lane] == RUNNING && this.pc[lane] == at){
+                    peel(lane);
+                }
+            }
+            return nextPc();
+        }
+        int op = this.operations[at];
+        int next = Math.min(at + 1, this.pcLimit);
+        int lowest = Integer.MAX_VALUE;
+        int running = 0;
+        int last = -1;
+        for (int off = 0; off < this.capacity; off += SPECIES.length()){
+            VectorMask<Integer> live = IntVector.fromArray(SPECIES, this.status, off).eq(RUNNING);
+            if (!live.anyTrue()){
+                continue;
+            }
+            VectorMask<Integer> m = live.and(IntVector.fromArray(SPECIES, this.pc, off).eq(at));
+            if (m.anyTrue()){
+                execute(op, at, next, off, m);
+                retire(off, m);
+            }
+            live = IntVector.fromArray(SPECIES, this.status, off).eq(RUNNING);
+            int alive = live.trueCount();
+            if (alive > 0){
+                IntVector pcs = IntVector.fromArray(SPECIES, this.pc, off);
+                lowest = Math.min(lowest, pcs.reduceLanes(VectorOperators.MIN, live));
+                running += alive;
+                last = off + live.lastTrue();
+            }
+        }
+        if (running == 1 && this.lanes > 1){
+            // A single lane gains nothing from the vector units
+            peel(last);
+            return Integer.MAX_VALUE;
+        }
+        return lowest;
+    }
+
+    /**
+     * Applies one instruction to the masked lanes of a chunk.
+     * Registers, flags and the program counter are updated; faulting lanes are marked and left untouched.
+     */
+    private void execute(int op, int at, int next, int off, VectorMask<Integer> m) {
+        int[] d = this.registers[this.destinations[at]];
+        int[] a = this.registers[this.sources1[at]];
+        int[] b = this.registers[this.sources2[at]];
+        IntVector raw;
+        IntVector res;
+        switch (op) {
+            case 0:
+            case 1:
+                raw = IntVector.fromArray(SPECIES, a, off);
+                raw = op == 0 ? raw.add(IntVector.fromArray(SPECIES, b, off))
+                        : raw.sub(IntVector.fromArray(SPECIES, b, off));
+                res = saturate(raw);
+                res.intoArray(d, off, m);
+                arithFlags(raw, res).intoArray(this.flags, off, m);
+                break;
+            case 2:
+                res = IntVector.fromArray(SPECIES, a, off).and(IntVector.fromArray(SPECIES, b, off));
+                res.intoArray(d, off, m);
+                signZero(res).intoArray(this.flags, off, m);
+                break;
+            case 3:
+            case 4:
+            case 5:
+                res = IntVector.fromArray(SPECIES, a, off);
+                if (op == 3){
+                    res = res.or(IntVector.fromArray(SPECIES, b, off));
+                }
+                else if (op == 4){
+                    res = res.lanewise(VectorOperators.XOR, IntVector.fromArray(SPECIES, b, off));
+                }
+                else {
+                    res = res.lanewise(VectorOperators.XOR, 0xFFFF);
+                }
+                res.intoArray(d, off, m);
+                IntVector.fromArray(SPECIES, this.flags, off).and(RegisterFile.CARRY | RegisterFile.OVERFLOW)
+                        .or(signZero(res)).intoArray(this.flags, off, m);
+                break;
+            case 6:
+                saturate(IntVector.fromArray(SPECIES, a, off).lanewise(VectorOperators.LSHL, 1)).intoArray(d, off, m);
+                break;
+            case 7:
+                IntVector.fromArray(SPECIES, a, off).lanewise(VectorOperators.ASHR, 1).intoArray(d, off, m);
+                break;
+            case 8:
+                m = dataAccess(a, off, m);
+                if (m.anyTrue()){
+                    saturate(IntVector.fromArray(SPECIES, this.data, 0, this.addresses, 0, m)).intoArray(d, off, m);
+                }
+                IntVector.broadcast(SPECIES, next).intoArray(this.pc, off, m);
+                return;
+            case 9:
+                raw = IntVector.fromArray(SPECIES, a, off).sub(IntVector.fromArray(SPECIES, b, off));
+                arithFlags(raw, saturate(raw)).intoArray(this.flags, off, m);
+                break;
+            case 10:
+                m = dataAccess(a, off, m);
+                if (m.anyTrue()){
+                    saturate(IntVector.fromArray(SPECIES, b, off)).intoArray(this.data, 0, this.addresses, 0, m);
+                }
+                IntVector.broadcast(SPECIES, next).intoArray(this.pc, off, m);
+                return;
+            case 11:
+                jump(at, off, m);
+                return;
+            case 12:
+            case 13:
+                VectorMask<Integer> zero = IntVector.fromArray(SPECIES, this.flags, off)
+                        .and(RegisterFile.ZERO).compare(VectorOperators.NE, 0);
+                VectorMask<Integer> taken = op == 12 ? m.and(zero) : m.andNot(zero);
+                IntVector.broadcast(SPECIES, next).intoArray(this.pc, off, m.andNot(taken));
+                if (taken.anyTrue()){
+                    jump(at, off, taken);
+                }
+                return;
+            case 14:
+                IntVector.broadcast(SPECIES, BitOps.saturate(this.numbers[at], 16)).intoArray(d, off, m);
+                IntVector.broadcast(SPECIES, at + 1).intoArray(this.pc, off, m);
+                return;
+            default:
+                break;
+        }
+        IntVector.broadcast(SPECIES, next).intoArray(this.pc, off, m);
+    }
+
+    /**
+     * Counts the instruction for the masked lanes that did not fault, and stops the ones
+     * that reached the data segment or their budget.
+     */
+    private void retire(int off, VectorMask<Integer> m) {
+        IntVector st = IntVector.fromArray(SPECIES, this.status, off);
+        VectorMask<Integer> done = m.and(st.eq(RUNNING));
+        IntVector executed = IntVector.fromArray(SPECIES, this.count, off).add(1);
+        executed.intoArray(this.count, off, done);
+        VectorMask<Integer> halted = done.and(IntVector.fromArray(SPECIES, this.pc, off).eq(this.dataSegment));
+        VectorMask<Integer> exhausted = done.andNot(halted).and(executed.eq(this.budget));
+        st.blend(HALTED, halted).blend(BUDGET_EXHAUSTED, exhausted).intoArray(this.status, off);
+    }
+
+    /**
+     * Computes the interleaved data indexes of the addresses held in a register and marks the
+     * masked lanes whose address is outside the data segment as faulted.
+     * 
+     * @return the masked lanes with a valid address
+     */
+    private VectorMask<Integer> dataAccess(int[] a, int off, VectorMask<Integer> m) {
+        IntVector address = IntVector.fromArray(SPECIES, a, off);
+        VectorMask<Integer> valid = address.compare(VectorOperators.GE, this.dataSegment)
+                .and(address.compare(VectorOperators.LT, this.memorySize));
+        fault(off, m.andNot(valid));
+        m = m.and(valid);
+        // Unselected lanes get index 0 so that the gather and scatter range checks pass
+        address.sub(this.dataSegment).mul(this.capacity).add(IntVector.fromArray(SPECIES, this.laneIndex, off))
+                .blend(0, m.not()).intoArray(this.addresses, 0);
+        return m;
+    }
+
+    /**
+     * Jumps the masked lanes to the target of the instruction at the given address, or faults them
+     * if the target is outside the code segment.
+     */
+    private void jump(int at, int off, VectorMask<Integer> m) {
+        int target = at + this.numbers[at];
+        if (target >= 0 && target < this.dataSegment){
+            IntVector.broadcast(SPECIES, Math.min(target, this.pcLimit)).intoArray(this.pc, off, m);
+        }
+        else {
+            fault(off, m);
+        }
+    }
+
+    private void fault(int off, VectorMask<Integer> m) {
+        if (m.anyTrue()){
+            IntVector.broadcast(SPECIES, FAULT).intoArray(this.status, off, m);
+        }
+    }
+
+    /**
+     * Peels off the running lanes that have not executed an instruction since the previous check.
+     */
+    private void peelStuck() {
+        for (int off = 0; off < this.capacity; off += SPECIES.length()){
+            VectorMask<Integer> stuck = IntVector.fromArray(SPECIES, this.status, off).eq(RUNNING)
+                    .and(IntVector.fromArray(SPECIES, this.count, off).eq(IntVector.fromArray(SPECIES, this.progress, off)));
+            for (int i = stuck.firstTrue(); i < SPECIES.length(); i++){
+                if (stuck.laneIsSet(i)){
+                    peel(off + i);
+                }
+            }
+        }
+        System.arraycopy(this.count, 0, this.progress, 0, this.capacity);
+    }
+
+    /**
+     * Moves a running lane onto its own computer and finishes it there with the remaining budget.
+     * 
+     * @param lane the lane index
+     */
+    private void peel(int lane) {
+        Computer comp = toComputer(lane);
+        this.peeled[lane] = comp;
+        this.peeledLanes++;
+        try {
+            comp.run(this.budget - this.count[lane]);
+            RegisterFile regs = comp.getRegisterFile();
+            this.status[lane] = regs.get(RegisterFile.PC) == this.dataSegment ? HALTED : BUDGET_EXHAUSTED;
+        } catch (CodeSegmentViolatedException ex) {
+            this.status[lane] = FAULT;
+        }
+        this.count[lane] += (int) (comp.getInstructionCount() - this.template.getInstructionCount());
+    }
+
+    /**
+     * Finds the lowest program counter among the running lanes.
+     * 
+     * @return the program counter, or {@link Integer#MAX_VALUE} if no lane is running
+     */
+    private int nextPc() {
+        int lowest = Integer.MAX_VALUE;
+        for (int off = 0; off < this.capacity; off += SPECIES.length()){
+            VectorMask<Integer> live = IntVector.fromArray(SPECIES, this.status, off).eq(RUNNING);
+            lowest = Math.min(lowest, IntVector.fromArray(SPECIES, this.pc, off).reduceLanes(VectorOperators.MIN, live));
+        }
+        return lowest;
+    }
+
+    /**
+     * Saturates unbounded results the way a signed write to a 16-bit register does:
+     * values above 32767 become 32767 and negative values become 32768.
+     */
+    private static IntVector saturate(IntVector raw) {
+        return raw.min(WORD_MAX).blend(WORD_MIN, raw.compare(VectorOperators.LT, 0));
+    }
+
+    /**
+     * Flags of ADD, SUB and CMP: carry and overflow when the result saturated, sign and zero from the stored value.
+     */
+    private static IntVector arithFlags(IntVector raw, IntVector res) {
+        IntVector signZero = signZero(res);
+        return signZero.blend(signZero.or(RegisterFile.CARRY | RegisterFile.OVERFLOW),
+                raw.lanewise(VectorOperators.LSHR, 15).compare(VectorOperators.NE, 0));
+    }
+
+    /**
+     * Sign and zero flags of a result, with carry and overflow clear.
+     */
+    private static IntVector signZero(IntVector res) {
+        return res.and(0x8000).lanewise(VectorOperators.LSHR, 12)
+                .blend(RegisterFile.ZERO, res.eq(0));
+    }
+
+    private void checkLane(int lane) {
+        if (lane < 0 || lane >= this.lanes){
+            throw new IndexOutOfBoundsException("Invalid lane: " + lane);
+        }
+    }
+
+    private static void checkWord(int value) {
+        if (value < 0 || value > 0xFFFF){
+            throw new IllegalArgumentException("Not a 16-bit value: " + value);
+        }
+    }
+
+}
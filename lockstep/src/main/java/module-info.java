@@ -0,0 +1,8 @@
+module com.arturoar.simuladorarquitecturarisc.lockstep {
+
+    // Ejecución SIMD de un mismo programa sobre muchos vectores de entrada; separado del núcleo
+    // para que solo este módulo dependa del módulo incubadora jdk.incubator.vector
+    requires jdk.incubator.vector;
+    requires transitive com.arturoar.simuladorarquitecturarisc.core;
+    exports com.arturoar.lockstep;
+}